@@ -1,39 +1,85 @@
 package bookstore.controller;
 
+import bookstore.dto.book.BookBulkRequestDto;
 import bookstore.dto.book.BookDto;
+import bookstore.dto.book.BookImportFormat;
+import bookstore.dto.book.BookImportResultDto;
+import bookstore.dto.book.BookRepriceJobDto;
+import bookstore.dto.book.BookRepriceRequestDto;
 import bookstore.dto.book.BookSearchParametersDto;
+import bookstore.dto.book.BookSearchResultDto;
+import bookstore.dto.book.BookSuggestionDto;
 import bookstore.dto.book.CreateBookRequestDto;
+import bookstore.dto.book.PatchBookRequestDto;
+import bookstore.dto.bulk.BulkUpdateResultDto;
+import bookstore.dto.catalog.CatalogVersionDto;
+import bookstore.dto.page.CursorPageDto;
+import bookstore.service.BookImportService;
+import bookstore.service.BookRepriceService;
 import bookstore.service.BookService;
+import bookstore.service.CatalogVersionService;
+import bookstore.service.SoftDeleteService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @Tag(name = "Book management", description = "Endpoints for managing books")
 @RequiredArgsConstructor
 @RestController
 @RequestMapping(value = "/books")
 public class BookController {
+    private static final String TEXT_CSV_VALUE = "text/csv";
     private final BookService bookService;
+    private final BookImportService bookImportService;
+    private final BookRepriceService bookRepriceService;
+    private final SoftDeleteService softDeleteService;
+    private final CatalogVersionService catalogVersionService;
 
     @Operation(summary = "Get all books", description = "Get a list of all available books")
-    @GetMapping
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
     @PreAuthorize("hasRole('USER')")
-    public List<BookDto> findAll(Pageable pageable) {
-        return bookService.findAll(pageable);
+    public StreamingResponseBody findAll(Pageable pageable, WebRequest request) {
+        if (isNotModified(request, catalogVersionService.getCatalogVersion())) {
+            return null;
+        }
+        List<BookDto> books = bookService.findAll(pageable);
+        return outputStream -> bookService.writeJson(books, outputStream);
+    }
+
+    @Operation(summary = "Get books by cursor",
+            description = "Get the next page of available books after the given cursor "
+                    + "without counting the whole catalog")
+    @GetMapping(params = "after")
+    @PreAuthorize("hasRole('USER')")
+    public CursorPageDto<BookDto> findAll(@RequestParam String after, Pageable pageable,
+                                          WebRequest request) {
+        if (isNotModified(request, catalogVersionService.getCatalogVersion())) {
+            return null;
+        }
+        return bookService.findAll(after, pageable);
     }
 
     @Operation(summary = "Create a new Book",
@@ -44,12 +90,51 @@ public class BookController {
         return bookService.save(bookDto);
     }
 
+    @Operation(summary = "Import books in bulk",
+            description = "Import books from a CSV (with header) or NDJSON body, "
+                    + "reporting per-row errors and throughput")
+    @PostMapping(value = "/import", consumes = {TEXT_CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @PreAuthorize("hasRole('ADMIN')")
+    public BookImportResultDto importBooks(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) throws IOException {
+        BookImportFormat format = MediaType.APPLICATION_NDJSON
+                .isCompatibleWith(MediaType.parseMediaType(contentType))
+                ? BookImportFormat.NDJSON : BookImportFormat.CSV;
+        return bookImportService.importBooks(body, format);
+    }
+
+    @Operation(summary = "Reprice books in bulk",
+            description = "Start a job setting an absolute price or applying a percentage "
+                    + "change, with optional rounding, to all books matching the filter; "
+                    + "a filter without criteria is rejected unless all is true")
+    @PostMapping("/prices")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    @PreAuthorize("hasRole('ADMIN')")
+    public BookRepriceJobDto reprice(@RequestBody @Valid BookRepriceRequestDto requestDto) {
+        return bookRepriceService.start(requestDto);
+    }
+
+    @Operation(summary = "Get bulk reprice job progress",
+            description = "Get status and progress of a bulk reprice job by id")
+    @GetMapping("/prices/{jobId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public BookRepriceJobDto getRepriceJob(@PathVariable String jobId) {
+        return bookRepriceService.getJob(jobId);
+    }
+
     @Operation(summary = "Get book's info by id",
             description = "Get available book's info by id")
-    @GetMapping("/{id}")
+    @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
     @PreAuthorize("hasRole('USER')")
-    public BookDto getBookById(@PathVariable Long id) {
-        return bookService.findById(id);
+    public StreamingResponseBody getBookById(@PathVariable Long id, WebRequest request) {
+        if (catalogVersionService.findBookVersion(id)
+                .map(version -> isNotModified(request, version))
+                .orElse(false)) {
+            return null;
+        }
+        BookDto book = bookService.findById(id);
+        return outputStream -> bookService.writeJson(book, outputStream);
     }
 
     @Operation(summary = "Update book's info by id",
@@ -60,6 +145,17 @@ public class BookController {
         return bookService.update(id, bookDto);
     }
 
+    @Operation(summary = "Partially update book's info by id",
+            description = "Update only the supplied fields of a book. The request must carry "
+                    + "the book version it was based on and fails with 409 if the book "
+                    + "has been changed since")
+    @PatchMapping("/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public BookDto patch(@PathVariable Long id,
+                         @RequestBody @Valid PatchBookRequestDto bookDto) {
+        return bookService.patch(id, bookDto);
+    }
+
     @Operation(summary = "Delete book record by id",
             description = "Delete (soft) book record by id")
     @ResponseStatus(HttpStatus.NO_CONTENT)
@@ -69,11 +165,74 @@ public class BookController {
         bookService.deleteById(id);
     }
 
+    @Operation(summary = "Delete books in bulk",
+            description = "Delete (soft) all books given by ids or matching a search filter")
+    @PostMapping("/bulk-delete")
+    @PreAuthorize("hasRole('ADMIN')")
+    public BulkUpdateResultDto deleteBooks(@RequestBody @Valid BookBulkRequestDto requestDto) {
+        return softDeleteService.deleteBooks(requestDto);
+    }
+
+    @Operation(summary = "Restore deleted books in bulk",
+            description = "Restore all deleted books given by ids or matching a search filter")
+    @PostMapping("/bulk-restore")
+    @PreAuthorize("hasRole('ADMIN')")
+    public BulkUpdateResultDto restoreBooks(@RequestBody @Valid BookBulkRequestDto requestDto) {
+        return softDeleteService.restoreBooks(requestDto);
+    }
+
     @Operation(summary = "Search available books by criteria",
             description = "Get a list of available books filtered by criteria")
-    @GetMapping("/search")
+    @GetMapping(value = "/search", produces = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasRole('USER')")
+    public StreamingResponseBody searchBooks(BookSearchParametersDto searchParameters,
+                                             Pageable pageable) {
+        List<BookDto> books = bookService.search(searchParameters, pageable);
+        return outputStream -> bookService.writeJson(books, outputStream);
+    }
+
+    @Operation(summary = "Search available books by criteria and cursor",
+            description = "Get the next page of available books filtered by criteria "
+                    + "after the given cursor")
+    @GetMapping(value = "/search", params = {"after", "!facets"})
+    @PreAuthorize("hasRole('USER')")
+    public CursorPageDto<BookDto> searchBooks(BookSearchParametersDto searchParameters,
+                                              @RequestParam String after,
+                                              Pageable pageable) {
+        return bookService.search(searchParameters, after, pageable);
+    }
+
+    @Operation(summary = "Search available books by criteria with facet counts",
+            description = "Get a list of available books filtered by criteria together with "
+                    + "book counts per category, author and price range. Facets of searches "
+                    + "the index can't resolve are counted over a bounded number of matches "
+                    + "and flagged as truncated when the bound is hit")
+    @GetMapping(value = "/search", params = "facets=true")
     @PreAuthorize("hasRole('USER')")
-    public List<BookDto> searchBooks(BookSearchParametersDto searchParameters, Pageable pageable) {
-        return bookService.search(searchParameters, pageable);
+    public BookSearchResultDto searchBooksWithFacets(BookSearchParametersDto searchParameters,
+                                                     Pageable pageable) {
+        return bookService.searchWithFacets(searchParameters, pageable);
+    }
+
+    @Operation(summary = "Suggest book titles and authors",
+            description = "Get the most popular titles and authors having a word "
+                    + "starting with the given prefix")
+    @GetMapping("/suggest")
+    @PreAuthorize("hasRole('USER')")
+    public List<BookSuggestionDto> suggest(@RequestParam String prefix,
+                                           @RequestParam(defaultValue = "10") int limit) {
+        return bookService.suggest(prefix, limit);
+    }
+
+    @Operation(summary = "Export the whole catalog",
+            description = "Stream all available books as newline-delimited JSON")
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasRole('USER')")
+    public StreamingResponseBody export() {
+        return bookService::export;
+    }
+
+    private boolean isNotModified(WebRequest request, CatalogVersionDto version) {
+        return request.checkNotModified(version.getEtag(), version.getLastModified());
     }
 }
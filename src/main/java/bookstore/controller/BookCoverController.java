@@ -0,0 +1,98 @@
+package bookstore.controller;
+
+import bookstore.dto.book.BookDto;
+import bookstore.service.BookCoverService;
+import bookstore.service.cover.CoverImage;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.time.Duration;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@Tag(name = "Book cover management", description = "Endpoints for managing book cover images")
+@RequiredArgsConstructor
+@RestController
+@RequestMapping(value = "/books/{id}/cover")
+public class BookCoverController {
+    private static final String IMAGE_WEBP_VALUE = "image/webp";
+    private static final String BYTES = "bytes";
+    private static final CacheControl IMMUTABLE = CacheControl.maxAge(Duration.ofDays(365))
+            .cachePublic()
+            .immutable();
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePublic();
+    private final BookCoverService bookCoverService;
+
+    @Operation(summary = "Upload book's cover image",
+            description = "Store a JPEG, PNG, GIF or WebP cover image for the book. "
+                    + "Thumbnails are generated in the background")
+    @PutMapping(consumes = {MediaType.IMAGE_JPEG_VALUE, MediaType.IMAGE_PNG_VALUE,
+            MediaType.IMAGE_GIF_VALUE, IMAGE_WEBP_VALUE})
+    @PreAuthorize("hasRole('ADMIN')")
+    public BookDto uploadCover(@PathVariable Long id,
+                               @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                               InputStream body) throws IOException {
+        return bookCoverService.uploadCover(id, MediaType.parseMediaType(contentType), body);
+    }
+
+    @Operation(summary = "Get book's cover image",
+            description = "Get the cover image, or its thumbnail of the given width once "
+                    + "generated. Supports conditional, If-Range and single or multipart "
+                    + "range requests. Responses are cacheable for a year when v is the "
+                    + "book's current coverImage and the requested width has been generated")
+    @GetMapping
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<?> getCover(@PathVariable Long id,
+                                      @RequestParam(required = false) Integer width,
+                                      @RequestParam(required = false) String v,
+                                      @RequestHeader HttpHeaders requestHeaders)
+            throws IOException {
+        CoverImage coverImage = bookCoverService.getCover(id, width);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(coverImage.etag());
+        headers.setCacheControl(coverImage.name().equals(v) && !coverImage.fallback()
+                ? IMMUTABLE : REVALIDATE);
+        headers.set(HttpHeaders.ACCEPT_RANGES, BYTES);
+        if (isNotModified(requestHeaders, coverImage)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).headers(headers).build();
+        }
+        headers.setContentType(coverImage.mediaType());
+        if (isRangeOutdated(requestHeaders, coverImage)) {
+            headers.setContentLength(coverImage.length());
+            return ResponseEntity.ok()
+                    .headers(headers)
+                    .body((StreamingResponseBody) out -> Files.copy(coverImage.path(), out));
+        }
+        return ResponseEntity.ok()
+                .headers(headers)
+                .body(new FileSystemResource(coverImage.path()));
+    }
+
+    private boolean isNotModified(HttpHeaders requestHeaders, CoverImage coverImage) {
+        return requestHeaders.getIfNoneMatch().stream()
+                .map(etag -> etag.startsWith("W/") ? etag.substring(2) : etag)
+                .anyMatch(etag -> etag.equals("*") || etag.equals(coverImage.etag()));
+    }
+
+    private boolean isRangeOutdated(HttpHeaders requestHeaders, CoverImage coverImage) {
+        String ifRange = requestHeaders.getFirst(HttpHeaders.IF_RANGE);
+        return requestHeaders.getFirst(HttpHeaders.RANGE) != null
+                && ifRange != null && !ifRange.equals(coverImage.etag());
+    }
+}
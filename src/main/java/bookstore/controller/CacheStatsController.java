@@ -0,0 +1,30 @@
+package bookstore.controller;
+
+import bookstore.dto.cache.CacheStatsDto;
+import bookstore.service.CacheStatsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@Tag(name = "Cache statistics", description = "Endpoints for monitoring in-memory caches")
+@RequiredArgsConstructor
+@RestController
+@RequestMapping(value = "/caches")
+public class CacheStatsController {
+    private final CacheStatsService cacheStatsService;
+
+    @Operation(summary = "Get cache statistics",
+            description = "Get size, hit, miss and eviction counters of every cache. "
+                    + "Second-level cache regions are listed only when "
+                    + "bookstore.hibernate.statistics.enabled is true")
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public List<CacheStatsDto> getAll() {
+        return cacheStatsService.findAll();
+    }
+}
@@ -0,0 +1,31 @@
+package bookstore.controller;
+
+import bookstore.dto.catalog.CatalogChangesDto;
+import bookstore.service.CatalogChangeService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@Tag(name = "Catalog change feed", description = "Endpoints for incremental catalog sync")
+@RequiredArgsConstructor
+@RestController
+@RequestMapping(value = "/catalog")
+public class CatalogController {
+    private final CatalogChangeService catalogChangeService;
+
+    @Operation(summary = "Get catalog changes",
+            description = "Get book and category changes committed after the given version, "
+                    + "in version order. Pass nextSince of the response as since of the next "
+                    + "request. Only the latest change of each entity is retained")
+    @GetMapping("/changes")
+    @PreAuthorize("hasRole('USER')")
+    public CatalogChangesDto getChanges(@RequestParam(defaultValue = "0") long since,
+                                        @RequestParam(defaultValue = "100") int limit) {
+        return catalogChangeService.getChanges(since, limit);
+    }
+}
@@ -1,9 +1,16 @@
 package bookstore.controller;
 
 import bookstore.dto.book.BookDtoWithoutCategoryIds;
+import bookstore.dto.bulk.BulkUpdateResultDto;
+import bookstore.dto.catalog.CatalogVersionDto;
+import bookstore.dto.category.CategoryBooksRequestDto;
+import bookstore.dto.category.CategoryBulkRequestDto;
 import bookstore.dto.category.CategoryDto;
+import bookstore.dto.page.CursorPageDto;
 import bookstore.service.BookService;
+import bookstore.service.CatalogVersionService;
 import bookstore.service.CategoryService;
+import bookstore.service.SoftDeleteService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -19,8 +26,10 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @Tag(name = "Category management", description = "Endpoints for managing categories")
 @RequiredArgsConstructor
@@ -29,6 +38,8 @@ import org.springframework.web.bind.annotation.RestController;
 public class CategoryController {
     private final CategoryService categoryService;
     private final BookService bookService;
+    private final SoftDeleteService softDeleteService;
+    private final CatalogVersionService catalogVersionService;
 
     @Operation(summary = "Create a new category",
             description = "Create a new category")
@@ -42,14 +53,33 @@ public class CategoryController {
             description = "Get a list of all available categories")
     @GetMapping
     @PreAuthorize("hasRole('USER')")
-    public List<CategoryDto> getAll(Pageable pageable) {
+    public List<CategoryDto> getAll(Pageable pageable, WebRequest request) {
+        if (isNotModified(request, catalogVersionService.getCatalogVersion())) {
+            return null;
+        }
         return categoryService.findAll(pageable);
     }
 
+    @Operation(summary = "Get categories by name",
+            description = "Get all available categories with the given name, ignoring case")
+    @GetMapping(params = "name")
+    @PreAuthorize("hasRole('USER')")
+    public List<CategoryDto> getByName(@RequestParam String name, WebRequest request) {
+        if (isNotModified(request, catalogVersionService.getCatalogVersion())) {
+            return null;
+        }
+        return categoryService.findByName(name);
+    }
+
     @Operation(summary = "Get category's info by id",
             description = "Get available category's info by id")
     @GetMapping("/{id}")
-    public CategoryDto getCategoryById(@PathVariable Long id) {
+    public CategoryDto getCategoryById(@PathVariable Long id, WebRequest request) {
+        if (catalogVersionService.findCategoryVersion(id)
+                .map(version -> isNotModified(request, version))
+                .orElse(false)) {
+            return null;
+        }
         return categoryService.findById(id);
     }
 
@@ -71,11 +101,72 @@ public class CategoryController {
         categoryService.deleteById(id);
     }
 
-    @Operation(summary = "Get all available books by category id",
-            description = "Get a list of all available books by category id")
+    @Operation(summary = "Delete categories in bulk",
+            description = "Delete (soft) all categories given by ids")
+    @PostMapping("/bulk-delete")
+    @PreAuthorize("hasRole('ADMIN')")
+    public BulkUpdateResultDto deleteCategories(
+            @RequestBody @Valid CategoryBulkRequestDto requestDto) {
+        return softDeleteService.deleteCategories(requestDto.getIds());
+    }
+
+    @Operation(summary = "Restore deleted categories in bulk",
+            description = "Restore all deleted categories given by ids")
+    @PostMapping("/bulk-restore")
+    @PreAuthorize("hasRole('ADMIN')")
+    public BulkUpdateResultDto restoreCategories(
+            @RequestBody @Valid CategoryBulkRequestDto requestDto) {
+        return softDeleteService.restoreCategories(requestDto.getIds());
+    }
+
+    @Operation(summary = "Assign books to category in bulk",
+            description = "Add the category to all given books that do not have it yet")
+    @PostMapping("/{id}/books:assign")
+    @PreAuthorize("hasRole('ADMIN')")
+    public BulkUpdateResultDto assignBooks(
+            @PathVariable Long id,
+            @RequestBody @Valid CategoryBooksRequestDto requestDto) {
+        return categoryService.assignBooks(id, requestDto.getBookIds());
+    }
+
+    @Operation(summary = "Unassign books from category in bulk",
+            description = "Remove the category from all given books that have it")
+    @PostMapping("/{id}/books:unassign")
+    @PreAuthorize("hasRole('ADMIN')")
+    public BulkUpdateResultDto unassignBooks(
+            @PathVariable Long id,
+            @RequestBody @Valid CategoryBooksRequestDto requestDto) {
+        return categoryService.unassignBooks(id, requestDto.getBookIds());
+    }
+
+    @Operation(summary = "Get available books by category id",
+            description = "Get a page of available books by category id")
     @GetMapping("/{id}/books")
     @PreAuthorize("hasRole('USER')")
-    public List<BookDtoWithoutCategoryIds> getBooksByCategoryId(@PathVariable Long id) {
-        return bookService.findByCategoryId(id);
+    public List<BookDtoWithoutCategoryIds> getBooksByCategoryId(@PathVariable Long id,
+                                                                Pageable pageable,
+                                                                WebRequest request) {
+        if (isNotModified(request, catalogVersionService.getCatalogVersion())) {
+            return null;
+        }
+        return bookService.findByCategoryId(id, pageable);
+    }
+
+    @Operation(summary = "Get available books by category id and cursor",
+            description = "Get the next page of available books by category id, ordered by "
+                    + "book id, after the given cursor")
+    @GetMapping(value = "/{id}/books", params = "after")
+    @PreAuthorize("hasRole('USER')")
+    public CursorPageDto<BookDtoWithoutCategoryIds> getBooksByCategoryId(
+            @PathVariable Long id, @RequestParam String after, Pageable pageable,
+            WebRequest request) {
+        if (isNotModified(request, catalogVersionService.getCatalogVersion())) {
+            return null;
+        }
+        return bookService.findByCategoryId(id, after, pageable);
+    }
+
+    private boolean isNotModified(WebRequest request, CatalogVersionDto version) {
+        return request.checkNotModified(version.getEtag(), version.getLastModified());
     }
 }
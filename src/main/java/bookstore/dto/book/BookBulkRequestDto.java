@@ -0,0 +1,15 @@
+package bookstore.dto.book;
+
+import bookstore.validation.ExactlyOneSelector;
+import jakarta.validation.constraints.NotNull;
+import java.util.List;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+@Data
+@Accessors(chain = true)
+@ExactlyOneSelector
+public class BookBulkRequestDto {
+    private List<@NotNull Long> ids;
+    private BookSearchParametersDto filter;
+}
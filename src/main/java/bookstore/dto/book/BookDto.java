@@ -3,6 +3,7 @@ package bookstore.dto.book;
 import java.math.BigDecimal;
 import java.util.Set;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.experimental.Accessors;
 
 @Data
@@ -16,4 +17,6 @@ public class BookDto {
     private String description;
     private String coverImage;
     private Set<Long> categoryIds;
+    @EqualsAndHashCode.Exclude
+    private Long version;
 }
@@ -0,0 +1,14 @@
+package bookstore.dto.book;
+
+import java.util.Map;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+@Data
+@Accessors(chain = true)
+public class BookFacetsDto {
+    private Map<Long, Long> categories;
+    private Map<String, Long> authors;
+    private Map<String, Long> prices;
+    private boolean truncated;
+}
@@ -0,0 +1,12 @@
+package bookstore.dto.book;
+
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+@Data
+@Accessors(chain = true)
+public class BookImportErrorDto {
+    private long line;
+    private String isbn;
+    private String message;
+}
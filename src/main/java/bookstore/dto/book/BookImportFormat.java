@@ -0,0 +1,6 @@
+package bookstore.dto.book;
+
+public enum BookImportFormat {
+    CSV,
+    NDJSON
+}
@@ -0,0 +1,15 @@
+package bookstore.dto.book;
+
+import java.util.List;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+@Data
+@Accessors(chain = true)
+public class BookImportResultDto {
+    private long imported;
+    private long failed;
+    private List<BookImportErrorDto> errors;
+    private long durationMillis;
+    private double rowsPerSecond;
+}
@@ -0,0 +1,24 @@
+package bookstore.dto.book;
+
+import java.time.LocalDateTime;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+@Data
+@Accessors(chain = true)
+public class BookRepriceJobDto {
+    private String id;
+    private Status status;
+    private long total;
+    private long processed;
+    private long updated;
+    private String error;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+
+    public enum Status {
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+}
@@ -0,0 +1,25 @@
+package bookstore.dto.book;
+
+import bookstore.validation.NonNegativePriceRule;
+import bookstore.validation.RepriceScope;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import java.math.BigDecimal;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+@Data
+@Accessors(chain = true)
+@NonNegativePriceRule
+@RepriceScope
+public class BookRepriceRequestDto {
+    @NotNull
+    private BookSearchParametersDto filter;
+    @NotNull
+    private RepriceType type;
+    @NotNull
+    private BigDecimal value;
+    @DecimalMin("0.01")
+    private BigDecimal roundingStep;
+    private boolean all;
+}
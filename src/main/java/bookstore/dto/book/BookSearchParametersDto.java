@@ -1,5 +1,15 @@
 package bookstore.dto.book;
 
 public record BookSearchParametersDto(String[] authors, String[] titles, String[] isbns,
-                                      String[] prices, String[] categories) {
+                                      String[] prices, String[] categories,
+                                      String categoryMatch, Boolean includeSubcategories) {
+    public static final String MATCH_ALL_CATEGORIES = "all";
+
+    public boolean matchAllCategories() {
+        return MATCH_ALL_CATEGORIES.equalsIgnoreCase(categoryMatch);
+    }
+
+    public boolean matchSubcategories() {
+        return Boolean.TRUE.equals(includeSubcategories);
+    }
 }
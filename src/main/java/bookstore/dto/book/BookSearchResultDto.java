@@ -0,0 +1,12 @@
+package bookstore.dto.book;
+
+import java.util.List;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+@Data
+@Accessors(chain = true)
+public class BookSearchResultDto {
+    private List<BookDto> books;
+    private BookFacetsDto facets;
+}
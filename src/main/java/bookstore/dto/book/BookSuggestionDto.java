@@ -0,0 +1,12 @@
+package bookstore.dto.book;
+
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+@Data
+@Accessors(chain = true)
+public class BookSuggestionDto {
+    private String text;
+    private String field;
+    private long popularity;
+}
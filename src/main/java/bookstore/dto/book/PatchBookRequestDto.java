@@ -0,0 +1,29 @@
+package bookstore.dto.book;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.math.BigDecimal;
+import java.util.Set;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+@Accessors(chain = true)
+public class PatchBookRequestDto {
+    @Size(min = 1)
+    private String title;
+    @Size(min = 1)
+    private String author;
+    @Size(min = 1)
+    private String isbn;
+    @Min(0)
+    private BigDecimal price;
+    private String description;
+    private String coverImage;
+    private Set<Long> categoryIds;
+    @NotNull
+    private Long version;
+}
@@ -0,0 +1,11 @@
+package bookstore.dto.bulk;
+
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+@Data
+@Accessors(chain = true)
+public class BulkUpdateResultDto {
+    private int matched;
+    private int updated;
+}
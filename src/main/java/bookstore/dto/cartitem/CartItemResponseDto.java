@@ -1,11 +1,14 @@
 package bookstore.dto.cartitem;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
 import lombok.Data;
 import lombok.experimental.Accessors;
 
 @Data
 @Accessors(chain = true)
 public class CartItemResponseDto {
+    @JsonSerialize(using = ToStringSerializer.class)
     private Long id;
     private Long bookId;
     private String bookTitle;
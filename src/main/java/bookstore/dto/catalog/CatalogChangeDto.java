@@ -0,0 +1,19 @@
+package bookstore.dto.catalog;
+
+import bookstore.dto.book.BookDto;
+import bookstore.dto.category.CategoryDto;
+import java.time.LocalDateTime;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+@Data
+@Accessors(chain = true)
+public class CatalogChangeDto {
+    private long version;
+    private CatalogEntityType entityType;
+    private Long entityId;
+    private CatalogChangeOperation operation;
+    private LocalDateTime changedAt;
+    private BookDto book;
+    private CategoryDto category;
+}
@@ -0,0 +1,13 @@
+package bookstore.dto.catalog;
+
+import java.util.List;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+@Data
+@Accessors(chain = true)
+public class CatalogChangesDto {
+    private List<CatalogChangeDto> changes;
+    private long nextSince;
+    private boolean hasMore;
+}
@@ -0,0 +1,6 @@
+package bookstore.dto.catalog;
+
+public enum CatalogEntityType {
+    BOOK,
+    CATEGORY
+}
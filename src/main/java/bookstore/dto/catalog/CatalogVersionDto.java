@@ -0,0 +1,11 @@
+package bookstore.dto.catalog;
+
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+@Data
+@Accessors(chain = true)
+public class CatalogVersionDto {
+    private String etag;
+    private long lastModified;
+}
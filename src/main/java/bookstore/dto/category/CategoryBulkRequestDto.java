@@ -0,0 +1,14 @@
+package bookstore.dto.category;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import java.util.List;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+@Data
+@Accessors(chain = true)
+public class CategoryBulkRequestDto {
+    @NotEmpty
+    private List<@NotNull Long> ids;
+}
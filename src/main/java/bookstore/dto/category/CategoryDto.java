@@ -1,6 +1,7 @@
 package bookstore.dto.category;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Data;
 import lombok.experimental.Accessors;
@@ -12,4 +13,7 @@ public class CategoryDto {
     @NotBlank
     private String name;
     private String description;
+    private Long parentId;
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long bookCount;
 }
@@ -1,6 +1,8 @@
 package bookstore.dto.order;
 
 import bookstore.dto.orderitem.OrderItemResponseDto;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Set;
@@ -8,6 +10,7 @@ import lombok.Data;
 
 @Data
 public class OrderResponseDto {
+    @JsonSerialize(using = ToStringSerializer.class)
     private Long id;
     private Long userId;
     private Set<OrderItemResponseDto> orderItems;
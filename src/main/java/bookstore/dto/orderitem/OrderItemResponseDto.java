@@ -1,9 +1,12 @@
 package bookstore.dto.orderitem;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
 import lombok.Data;
 
 @Data
 public class OrderItemResponseDto {
+    @JsonSerialize(using = ToStringSerializer.class)
     private Long id;
     private Long bookId;
     private Integer quantity;
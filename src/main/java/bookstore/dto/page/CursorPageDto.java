@@ -0,0 +1,12 @@
+package bookstore.dto.page;
+
+import java.util.List;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+@Data
+@Accessors(chain = true)
+public class CursorPageDto<T> {
+    private List<T> content;
+    private String nextCursor;
+}
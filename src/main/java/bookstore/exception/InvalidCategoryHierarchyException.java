@@ -0,0 +1,7 @@
+package bookstore.exception;
+
+public class InvalidCategoryHierarchyException extends RuntimeException {
+    public InvalidCategoryHierarchyException(String message) {
+        super(message);
+    }
+}
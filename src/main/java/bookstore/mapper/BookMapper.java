@@ -4,15 +4,18 @@ import bookstore.config.MapperConfig;
 import bookstore.dto.book.BookDto;
 import bookstore.dto.book.BookDtoWithoutCategoryIds;
 import bookstore.dto.book.CreateBookRequestDto;
+import bookstore.dto.book.PatchBookRequestDto;
 import bookstore.model.Book;
 import bookstore.model.Category;
 import java.util.Set;
 import java.util.stream.Collectors;
 import org.mapstruct.AfterMapping;
+import org.mapstruct.BeanMapping;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
 import org.mapstruct.Named;
+import org.mapstruct.NullValuePropertyMappingStrategy;
 
 @Mapper(config = MapperConfig.class)
 @Named("BookMapper")
@@ -23,6 +26,19 @@ public interface BookMapper {
     @Mapping(target = "categories", ignore = true)
     Book toEntity(CreateBookRequestDto requestDto);
 
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "isDeleted", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "categories", ignore = true)
+    void updateEntity(CreateBookRequestDto requestDto, @MappingTarget Book book);
+
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "isDeleted", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "categories", ignore = true)
+    void updateEntity(PatchBookRequestDto requestDto, @MappingTarget Book book);
+
     BookDtoWithoutCategoryIds toDtoWithoutCategories(Book book);
 
     @AfterMapping
@@ -35,11 +51,24 @@ public interface BookMapper {
 
     @AfterMapping
     default void setCategories(@MappingTarget Book book, CreateBookRequestDto requestDto) {
-        if (!requestDto.getCategoryIds().isEmpty()) {
-            Set<Category> categories = requestDto.getCategoryIds().stream()
-                    .map(id -> new Category(id))
-                    .collect(Collectors.toSet());
-            book.setCategories(categories);
+        updateCategories(book, requestDto.getCategoryIds());
+    }
+
+    @AfterMapping
+    default void setCategories(@MappingTarget Book book, PatchBookRequestDto requestDto) {
+        if (requestDto.getCategoryIds() != null) {
+            updateCategories(book, requestDto.getCategoryIds());
         }
     }
+
+    default void updateCategories(Book book, Set<Long> categoryIds) {
+        book.getCategories().removeIf(c -> !categoryIds.contains(c.getId()));
+        Set<Long> currentIds = book.getCategories().stream()
+                .map(Category::getId)
+                .collect(Collectors.toSet());
+        categoryIds.stream()
+                .filter(id -> !currentIds.contains(id))
+                .map(id -> new Category(id))
+                .forEach(book.getCategories()::add);
+    }
 }
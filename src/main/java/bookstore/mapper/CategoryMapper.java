@@ -4,10 +4,12 @@ import bookstore.config.MapperConfig;
 import bookstore.dto.category.CategoryDto;
 import bookstore.model.Category;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
 @Mapper(config = MapperConfig.class)
 public interface CategoryMapper {
     CategoryDto toDto(Category category);
 
+    @Mapping(target = "bookCount", ignore = true)
     Category toEntity(CategoryDto requestDto);
 }
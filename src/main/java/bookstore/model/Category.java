@@ -1,5 +1,6 @@
 package bookstore.model;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
@@ -15,13 +16,17 @@ import java.util.Objects;
 import java.util.Set;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.Where;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "categories")
 @Setter
 @Getter
-@SQLDelete(sql = "UPDATE categories SET is_deleted = TRUE WHERE id = ?")
+@SQLDelete(sql = "UPDATE categories SET is_deleted = TRUE, version = version + 1 WHERE id = ?")
 @Where(clause = "is_deleted = FALSE")
 @Table(name = "categories")
 public class Category {
@@ -32,6 +37,8 @@ public class Category {
     private String name;
     @Column(name = "description")
     private String description;
+    @Column(name = "parent_id")
+    private Long parentId;
     @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(name = "books_categories",
             joinColumns = @JoinColumn(name = "category_id"),
@@ -39,6 +46,10 @@ public class Category {
     private Set<Book> books = new HashSet<>();
     @Column(name = "is_deleted", nullable = false)
     private Boolean isDeleted = false;
+    @Column(nullable = false, updatable = false)
+    private Long version = 0L;
+    @Column(name = "book_count", nullable = false, insertable = false, updatable = false)
+    private Long bookCount = 0L;
 
     public Category(Long id) {
         this.id = id;
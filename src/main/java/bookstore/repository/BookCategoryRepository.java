@@ -0,0 +1,117 @@
+package bookstore.repository;
+
+import bookstore.dto.catalog.CatalogChangeOperation;
+import bookstore.dto.catalog.CatalogEntityType;
+import bookstore.repository.catalog.CatalogChangeRepository;
+import jakarta.transaction.Transactional;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@RequiredArgsConstructor
+@Repository
+public class BookCategoryRepository {
+    private final JdbcTemplate jdbcTemplate;
+    private final CatalogChangeRepository catalogChangeRepository;
+    private final CategoryBookCountRepository categoryBookCountRepository;
+
+    public boolean existsCategory(Long categoryId) {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM categories WHERE id = ? AND is_deleted = FALSE",
+                Integer.class, categoryId);
+        return count != null && count > 0;
+    }
+
+    @Transactional
+    public List<Long> assign(Long categoryId, Collection<Long> bookIds) {
+        if (bookIds.isEmpty()) {
+            return List.of();
+        }
+        List<Long> added = jdbcTemplate.queryForList("SELECT b.id FROM books b "
+                + "WHERE b.is_deleted = FALSE AND b.id IN (" + placeholders(bookIds.size(), 1)
+                + ") AND NOT EXISTS (SELECT 1 FROM books_categories bc "
+                + "WHERE bc.book_id = b.id AND bc.category_id = ?) ORDER BY b.id",
+                Long.class, arguments(bookIds, categoryId));
+        if (added.isEmpty()) {
+            return added;
+        }
+        List<Object> links = new ArrayList<>(added.size() * 2);
+        for (Long bookId : added) {
+            links.add(bookId);
+            links.add(categoryId);
+        }
+        int inserted = jdbcTemplate.update("INSERT IGNORE INTO books_categories "
+                + "(book_id, category_id) VALUES " + placeholders(added.size(), 2),
+                links.toArray());
+        categoryBookCountRepository.adjust(List.of(categoryId), inserted);
+        markChanged(added);
+        return added;
+    }
+
+    @Transactional
+    public List<Long> unassign(Long categoryId, Collection<Long> bookIds) {
+        if (bookIds.isEmpty()) {
+            return List.of();
+        }
+        List<Long> removed = jdbcTemplate.queryForList("SELECT book_id FROM books_categories "
+                + "WHERE book_id IN (" + placeholders(bookIds.size(), 1) + ") "
+                + "AND category_id = ? ORDER BY book_id FOR UPDATE",
+                Long.class, arguments(bookIds, categoryId));
+        if (removed.isEmpty()) {
+            return removed;
+        }
+        jdbcTemplate.update("DELETE FROM books_categories WHERE book_id IN ("
+                + placeholders(removed.size(), 1) + ") AND category_id = ?",
+                arguments(removed, categoryId));
+        Long activeBooks = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM books "
+                + "WHERE is_deleted = FALSE AND id IN (" + placeholders(removed.size(), 1) + ")",
+                Long.class, removed.toArray());
+        categoryBookCountRepository.adjust(List.of(categoryId),
+                activeBooks == null ? 0 : -activeBooks);
+        markChanged(removed);
+        return removed;
+    }
+
+    @Transactional
+    public List<Long> markCategoryBooksChanged(Collection<Long> categoryIds) {
+        if (categoryIds.isEmpty()) {
+            return List.of();
+        }
+        String categories = placeholders(categoryIds.size(), 1);
+        List<Long> bookIds = jdbcTemplate.queryForList("SELECT DISTINCT bc.book_id "
+                + "FROM books_categories bc JOIN books b ON b.id = bc.book_id "
+                + "AND b.is_deleted = FALSE WHERE bc.category_id IN (" + categories + ") "
+                + "ORDER BY bc.book_id FOR UPDATE", Long.class, categoryIds.toArray());
+        if (bookIds.isEmpty()) {
+            return bookIds;
+        }
+        jdbcTemplate.update("UPDATE books b JOIN books_categories bc ON bc.book_id = b.id "
+                + "SET b.version = b.version + 1 WHERE b.is_deleted = FALSE "
+                + "AND bc.category_id IN (" + categories + ")", categoryIds.toArray());
+        catalogChangeRepository.record(CatalogEntityType.BOOK, CatalogChangeOperation.UPSERT,
+                bookIds);
+        return bookIds;
+    }
+
+    private void markChanged(List<Long> bookIds) {
+        jdbcTemplate.update("UPDATE books SET version = version + 1 WHERE id IN ("
+                + placeholders(bookIds.size(), 1) + ")", bookIds.toArray());
+        catalogChangeRepository.record(CatalogEntityType.BOOK, CatalogChangeOperation.UPSERT,
+                bookIds);
+    }
+
+    private Object[] arguments(Collection<Long> bookIds, Long categoryId) {
+        List<Object> arguments = new ArrayList<>(bookIds);
+        arguments.add(categoryId);
+        return arguments.toArray();
+    }
+
+    private String placeholders(int rows, int columns) {
+        String row = columns == 1 ? "?" : "(" + "?, ".repeat(columns - 1) + "?)";
+        return String.join(", ", Collections.nCopies(rows, row));
+    }
+}
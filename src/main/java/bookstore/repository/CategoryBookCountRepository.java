@@ -0,0 +1,85 @@
+package bookstore.repository;
+
+import jakarta.transaction.Transactional;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@RequiredArgsConstructor
+@Repository
+public class CategoryBookCountRepository {
+    private final JdbcTemplate jdbcTemplate;
+
+    @Transactional
+    public void adjust(Collection<Long> categoryIds, long delta) {
+        if (categoryIds.isEmpty() || delta == 0) {
+            return;
+        }
+        List<Object> arguments = new ArrayList<>(categoryIds.size() + 1);
+        arguments.add(delta);
+        categoryIds.stream()
+                .distinct()
+                .sorted()
+                .forEach(arguments::add);
+        jdbcTemplate.update("UPDATE categories "
+                + "SET book_count = GREATEST(book_count + ?, 0), version = version + 1 "
+                + "WHERE id IN (" + placeholders(arguments.size() - 1) + ")",
+                arguments.toArray());
+    }
+
+    @Transactional
+    public void adjustForBooks(Collection<Long> bookIds, long delta) {
+        if (bookIds.isEmpty() || delta == 0) {
+            return;
+        }
+        List<Object> arguments = new ArrayList<>(bookIds);
+        arguments.add(delta);
+        jdbcTemplate.update("UPDATE categories c "
+                + "JOIN (SELECT category_id, COUNT(*) AS books FROM books_categories "
+                + "WHERE book_id IN (" + placeholders(bookIds.size()) + ") "
+                + "GROUP BY category_id) changed ON changed.category_id = c.id "
+                + "SET c.book_count = GREATEST(c.book_count + ? * changed.books, 0), "
+                + "c.version = c.version + 1", arguments.toArray());
+    }
+
+    @Transactional
+    public int reconcile() {
+        return jdbcTemplate.update("UPDATE categories c "
+                + "LEFT JOIN (SELECT bc.category_id, COUNT(*) AS books FROM books_categories bc "
+                + "JOIN books b ON b.id = bc.book_id AND b.is_deleted = FALSE "
+                + "GROUP BY bc.category_id) counted ON counted.category_id = c.id "
+                + "SET c.book_count = COALESCE(counted.books, 0), c.version = c.version + 1 "
+                + "WHERE c.book_count <> COALESCE(counted.books, 0)");
+    }
+
+    public Map<Long, Long> findBookCounts(Collection<Long> categoryIds) {
+        if (categoryIds.isEmpty()) {
+            return Map.of();
+        }
+        return findBookCounts("id IN (" + placeholders(categoryIds.size()) + ")",
+                categoryIds.toArray());
+    }
+
+    public Map<Long, Long> findBookCounts() {
+        return findBookCounts("is_deleted = FALSE");
+    }
+
+    private Map<Long, Long> findBookCounts(String condition, Object... arguments) {
+        Map<Long, Long> counts = new HashMap<>();
+        jdbcTemplate.query("SELECT id, book_count FROM categories WHERE " + condition,
+                rs -> {
+                    counts.put(rs.getLong(1), rs.getLong(2));
+                }, arguments);
+        return counts;
+    }
+
+    private String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+}
@@ -0,0 +1,59 @@
+package bookstore.repository;
+
+import jakarta.transaction.Transactional;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@RequiredArgsConstructor
+@Repository
+public class CategoryClosureRepository {
+    private final JdbcTemplate jdbcTemplate;
+
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void insert(Long categoryId, Long parentId) {
+        jdbcTemplate.update("INSERT INTO category_closure (ancestor_id, descendant_id, depth) "
+                + "SELECT ancestor_id, ?, depth + 1 FROM category_closure WHERE descendant_id = ? "
+                + "UNION ALL SELECT ?, ?, 0", categoryId, parentId, categoryId, categoryId);
+    }
+
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void move(Long categoryId, Long parentId) {
+        jdbcTemplate.update("DELETE link FROM category_closure link "
+                + "JOIN category_closure subtree ON subtree.descendant_id = link.descendant_id "
+                + "AND subtree.ancestor_id = ? "
+                + "LEFT JOIN category_closure inner_link ON inner_link.ancestor_id = ? "
+                + "AND inner_link.descendant_id = link.ancestor_id "
+                + "WHERE inner_link.ancestor_id IS NULL", categoryId, categoryId);
+        if (parentId != null) {
+            jdbcTemplate.update("INSERT INTO category_closure (ancestor_id, descendant_id, depth) "
+                    + "SELECT above.ancestor_id, subtree.descendant_id, "
+                    + "above.depth + subtree.depth + 1 "
+                    + "FROM category_closure above JOIN category_closure subtree "
+                    + "ON subtree.ancestor_id = ? WHERE above.descendant_id = ?",
+                    categoryId, parentId);
+        }
+    }
+
+    public boolean isInSubtree(Long ancestorId, Long categoryId) {
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM category_closure "
+                + "WHERE ancestor_id = ? AND descendant_id = ?", Integer.class,
+                ancestorId, categoryId);
+        return count != null && count > 0;
+    }
+
+    public Map<Long, List<Long>> findAllDescendants() {
+        Map<Long, List<Long>> descendants = new HashMap<>();
+        jdbcTemplate.query("SELECT link.ancestor_id, link.descendant_id FROM category_closure link "
+                + "JOIN categories c ON c.id = link.descendant_id AND c.is_deleted = FALSE",
+                rs -> {
+                    descendants.computeIfAbsent(rs.getLong(1), id -> new ArrayList<>())
+                            .add(rs.getLong(2));
+                });
+        return descendants;
+    }
+}
@@ -1,11 +1,29 @@
 package bookstore.repository;
 
 import bookstore.model.Category;
-import java.util.Optional;
-import org.springframework.data.jpa.repository.EntityGraph;
+import jakarta.persistence.QueryHint;
+import java.util.List;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 public interface CategoryRepository extends JpaRepository<Category, Long> {
-    @EntityGraph(attributePaths = "books")
-    Optional<Category> findById(Long id);
+    String QUERY_CACHE_REGION = "category-queries";
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)})
+    Page<Category> findAll(Pageable pageable);
+
+    List<Category> findByNameIgnoreCaseOrderByIdAsc(String name);
+
+    boolean existsByParentId(Long parentId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Category c SET c.version = c.version + 1 WHERE c.id = :id")
+    int incrementVersion(Long id);
 }
@@ -0,0 +1,90 @@
+package bookstore.repository;
+
+import bookstore.repository.catalog.EntityVersionRepository;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@RequiredArgsConstructor
+@Component
+public class CategoryTree {
+    private final CategoryClosureRepository categoryClosureRepository;
+    private final EntityVersionRepository entityVersionRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AtomicLong generation = new AtomicLong();
+    private volatile Subtrees subtrees;
+
+    public long[] findSubtree(long categoryId) {
+        long[] subtree = getSubtrees().byAncestor().get(categoryId);
+        return subtree == null ? new long[]{categoryId} : subtree;
+    }
+
+    public void invalidate() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            reset();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                reset();
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${bookstore.category-tree.check-interval:PT5S}",
+            initialDelayString = "${bookstore.category-tree.check-interval:PT5S}")
+    public void checkVersion() {
+        Subtrees current = subtrees;
+        if (current != null && current.version()
+                != entityVersionRepository.findCategoryStructureVersion().version()) {
+            reset();
+        }
+    }
+
+    private void reset() {
+        generation.incrementAndGet();
+        subtrees = null;
+        eventPublisher.publishEvent(new CategoryTreeChangedEvent());
+    }
+
+    private Subtrees getSubtrees() {
+        Subtrees current = subtrees;
+        if (current == null) {
+            synchronized (this) {
+                current = subtrees;
+                if (current == null) {
+                    long loadGeneration = generation.get();
+                    current = load();
+                    if (generation.get() == loadGeneration) {
+                        subtrees = current;
+                    }
+                }
+            }
+        }
+        return current;
+    }
+
+    private Subtrees load() {
+        long version = entityVersionRepository.findCategoryStructureVersion().version();
+        Map<Long, long[]> loaded = new HashMap<>();
+        for (Map.Entry<Long, List<Long>> entry
+                : categoryClosureRepository.findAllDescendants().entrySet()) {
+            loaded.put(entry.getKey(), entry.getValue().stream()
+                    .mapToLong(Long::longValue)
+                    .sorted()
+                    .toArray());
+        }
+        return new Subtrees(version, Map.copyOf(loaded));
+    }
+
+    private record Subtrees(long version, Map<Long, long[]> byAncestor) {
+    }
+}
@@ -0,0 +1,4 @@
+package bookstore.repository;
+
+public record CategoryTreeChangedEvent() {
+}
@@ -0,0 +1,98 @@
+package bookstore.repository;
+
+import bookstore.dto.catalog.CatalogChangeOperation;
+import bookstore.dto.catalog.CatalogEntityType;
+import bookstore.repository.book.index.BookIndexEntry;
+import bookstore.repository.catalog.CatalogChangeRepository;
+import jakarta.transaction.Transactional;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@RequiredArgsConstructor
+@Repository
+public class SoftDeleteRepository {
+    private final JdbcTemplate jdbcTemplate;
+    private final CatalogChangeRepository catalogChangeRepository;
+    private final BookCategoryRepository bookCategoryRepository;
+    private final CategoryBookCountRepository categoryBookCountRepository;
+
+    @Transactional
+    public int setBooksDeleted(Collection<Long> ids, boolean deleted) {
+        List<Long> changed = setDeleted("books", CatalogEntityType.BOOK, ids, deleted);
+        categoryBookCountRepository.adjustForBooks(changed, deleted ? -1 : 1);
+        return changed.size();
+    }
+
+    @Transactional
+    public int setCategoriesDeleted(Collection<Long> ids, boolean deleted) {
+        List<Long> changed = setDeleted("categories", CatalogEntityType.CATEGORY, ids, deleted);
+        bookCategoryRepository.markCategoryBooksChanged(changed);
+        return changed.size();
+    }
+
+    public List<Long> findBookIdsByCategories(Collection<Long> categoryIds) {
+        if (categoryIds.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.queryForList("SELECT DISTINCT bc.book_id FROM books_categories bc "
+                + "JOIN books b ON b.id = bc.book_id AND b.is_deleted = FALSE "
+                + "WHERE bc.category_id IN (" + placeholders(categoryIds.size()) + ") "
+                + "ORDER BY bc.book_id", Long.class, categoryIds.toArray());
+    }
+
+    public List<BookIndexEntry> findDeletedBookEntries() {
+        Map<Long, List<Long>> categoryIds = new HashMap<>();
+        jdbcTemplate.query("SELECT bc.book_id, bc.category_id FROM books_categories bc "
+                + "JOIN books b ON b.id = bc.book_id AND b.is_deleted = TRUE "
+                + "JOIN categories c ON c.id = bc.category_id AND c.is_deleted = FALSE",
+                rs -> {
+                    categoryIds.computeIfAbsent(rs.getLong(1), id -> new ArrayList<>())
+                            .add(rs.getLong(2));
+                });
+        return jdbcTemplate.query("SELECT id, title, author, isbn, price FROM books "
+                + "WHERE is_deleted = TRUE ORDER BY id", (rs, rowNum) -> new BookIndexEntry(
+                        rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4),
+                        rs.getBigDecimal(5), categoryIds.getOrDefault(rs.getLong(1), List.of())
+                                .stream()
+                                .mapToLong(Long::longValue)
+                                .sorted()
+                                .toArray()));
+    }
+
+    private List<Long> setDeleted(String table, CatalogEntityType entityType,
+                                  Collection<Long> ids, boolean deleted) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<Long> changed = jdbcTemplate.queryForList("SELECT id FROM " + table
+                + " WHERE is_deleted = ? AND id IN (" + placeholders(ids.size()) + ") "
+                + "ORDER BY id FOR UPDATE", Long.class, arguments(!deleted, ids));
+        if (changed.isEmpty()) {
+            return changed;
+        }
+        jdbcTemplate.update("UPDATE " + table + " SET version = version + 1, is_deleted = ? "
+                + "WHERE id IN (" + placeholders(changed.size()) + ")",
+                arguments(deleted, changed));
+        catalogChangeRepository.record(entityType, deleted
+                ? CatalogChangeOperation.DELETE : CatalogChangeOperation.UPSERT, changed);
+        return changed;
+    }
+
+    private Object[] arguments(boolean deleted, Collection<Long> ids) {
+        List<Object> arguments = new ArrayList<>(ids.size() + 1);
+        arguments.add(deleted);
+        arguments.addAll(ids);
+        return arguments.toArray();
+    }
+
+    private String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+}
@@ -0,0 +1,7 @@
+package bookstore.repository.book;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Sort;
+
+public record BookCursor(Sort sort, KeysetScrollPosition position) {
+}
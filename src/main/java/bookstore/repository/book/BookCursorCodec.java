@@ -0,0 +1,108 @@
+package bookstore.repository.book;
+
+import bookstore.exception.InvalidCursorException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+@RequiredArgsConstructor
+@Component
+public class BookCursorCodec {
+    private static final String ID = "id";
+    private static final String PRICE = "price";
+    private static final Set<String> SORTABLE_PROPERTIES =
+            Set.of(ID, "title", "author", "isbn", PRICE);
+    private final ObjectMapper objectMapper;
+
+    public BookCursor decode(String cursor, Sort requestedSort) {
+        if (cursor == null || cursor.isBlank()) {
+            return new BookCursor(toKeysetSort(requestedSort), ScrollPosition.keyset());
+        }
+        CursorToken token = readToken(cursor);
+        Sort sort = toKeysetSort(Sort.by(token.sort().stream()
+                .map(this::toOrder)
+                .toList()));
+        if (requestedSort.isSorted() && !sort.equals(toKeysetSort(requestedSort))) {
+            throw new InvalidCursorException("Cursor was issued for a different sort");
+        }
+        try {
+            Map<String, Object> keys = new LinkedHashMap<>();
+            for (Sort.Order order : sort) {
+                String value = token.keys().get(order.getProperty());
+                keys.put(order.getProperty(), toKeyValue(order.getProperty(), value));
+            }
+            return new BookCursor(sort, ScrollPosition.forward(keys));
+        } catch (RuntimeException e) {
+            throw new InvalidCursorException("Can't decode cursor " + cursor);
+        }
+    }
+
+    public String encode(Sort sort, ScrollPosition position) {
+        Map<String, String> keys = new LinkedHashMap<>();
+        ((KeysetScrollPosition) position).getKeys().forEach((property, value) ->
+                keys.put(property, value instanceof BigDecimal decimal
+                        ? decimal.toPlainString() : String.valueOf(value)));
+        List<String> orders = new ArrayList<>();
+        sort.forEach(o -> orders.add(o.getProperty() + "," + o.getDirection()));
+        try {
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(objectMapper.writeValueAsBytes(new CursorToken(orders, keys)));
+        } catch (IOException e) {
+            throw new IllegalStateException("Can't encode cursor", e);
+        }
+    }
+
+    private CursorToken readToken(String cursor) {
+        try {
+            CursorToken token = objectMapper.readValue(
+                    Base64.getUrlDecoder().decode(cursor), CursorToken.class);
+            if (token.sort() == null || token.keys() == null) {
+                throw new IllegalArgumentException("Incomplete cursor");
+            }
+            token.sort().forEach(this::toOrder);
+            return token;
+        } catch (IOException | RuntimeException e) {
+            throw new InvalidCursorException("Can't decode cursor " + cursor);
+        }
+    }
+
+    private Sort toKeysetSort(Sort requestedSort) {
+        for (Sort.Order order : requestedSort) {
+            if (!SORTABLE_PROPERTIES.contains(order.getProperty())) {
+                throw new InvalidCursorException("Can't sort by " + order.getProperty());
+            }
+        }
+        Sort sort = requestedSort.isSorted() ? requestedSort : Sort.by(ID);
+        return sort.getOrderFor(ID) == null ? sort.and(Sort.by(ID)) : sort;
+    }
+
+    private Sort.Order toOrder(String order) {
+        String[] parts = order.split(",");
+        return new Sort.Order(Sort.Direction.fromString(parts[1]), parts[0]);
+    }
+
+    private Object toKeyValue(String property, String value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Missing cursor key " + property);
+        }
+        return switch (property) {
+            case ID -> Long.valueOf(value);
+            case PRICE -> new BigDecimal(value);
+            default -> value;
+        };
+    }
+
+    private record CursorToken(List<String> sort, Map<String, String> keys) {
+    }
+}
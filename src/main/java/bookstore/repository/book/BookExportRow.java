@@ -0,0 +1,7 @@
+package bookstore.repository.book;
+
+import java.math.BigDecimal;
+
+public record BookExportRow(Long id, String title, String author, String isbn, BigDecimal price,
+                            String description, String coverImage, Long categoryId) {
+}
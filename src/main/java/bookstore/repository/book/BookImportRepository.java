@@ -0,0 +1,97 @@
+package bookstore.repository.book;
+
+import bookstore.dto.book.CreateBookRequestDto;
+import bookstore.dto.catalog.CatalogChangeOperation;
+import bookstore.dto.catalog.CatalogEntityType;
+import bookstore.repository.CategoryBookCountRepository;
+import bookstore.repository.catalog.CatalogChangeRepository;
+import jakarta.transaction.Transactional;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+@RequiredArgsConstructor
+@Repository
+public class BookImportRepository {
+    private static final int MAX_LINK_ROWS = 5000;
+    private final JdbcTemplate jdbcTemplate;
+    private final CatalogChangeRepository catalogChangeRepository;
+    private final CategoryBookCountRepository categoryBookCountRepository;
+
+    public Set<Long> findCategoryIds() {
+        return new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT id FROM categories WHERE is_deleted = FALSE", Long.class));
+    }
+
+    public Set<String> findExistingIsbns(Collection<String> isbns) {
+        if (isbns.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT isbn FROM books WHERE isbn IN (" + placeholders(isbns.size(), 1) + ")",
+                String.class, isbns.toArray()));
+    }
+
+    @Transactional
+    public List<Long> insertBatch(List<CreateBookRequestDto> books) {
+        if (books.isEmpty()) {
+            return List.of();
+        }
+        String sql = "INSERT INTO books (title, author, isbn, price, description, cover_image) "
+                + "VALUES " + placeholders(books.size(), 6);
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement =
+                    connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+            int index = 1;
+            for (CreateBookRequestDto book : books) {
+                statement.setString(index++, book.getTitle());
+                statement.setString(index++, book.getAuthor());
+                statement.setString(index++, book.getIsbn());
+                statement.setBigDecimal(index++, book.getPrice());
+                statement.setString(index++, book.getDescription());
+                statement.setString(index++, book.getCoverImage());
+            }
+            return statement;
+        }, keyHolder);
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        List<Object> links = new ArrayList<>();
+        List<Long> bookIds = new ArrayList<>(books.size());
+        for (int i = 0; i < books.size(); i++) {
+            Number bookId = (Number) keys.get(i).values().iterator().next();
+            bookIds.add(bookId.longValue());
+            for (Long categoryId : books.get(i).getCategoryIds()) {
+                links.add(bookId.longValue());
+                links.add(categoryId);
+            }
+        }
+        for (int from = 0; from < links.size(); from += MAX_LINK_ROWS * 2) {
+            List<Object> chunk =
+                    links.subList(from, Math.min(links.size(), from + MAX_LINK_ROWS * 2));
+            jdbcTemplate.update("INSERT INTO books_categories (book_id, category_id) VALUES "
+                    + placeholders(chunk.size() / 2, 2), chunk.toArray());
+        }
+        if (!links.isEmpty()) {
+            categoryBookCountRepository.adjustForBooks(bookIds, 1);
+        }
+        catalogChangeRepository.record(CatalogEntityType.BOOK, CatalogChangeOperation.UPSERT,
+                bookIds);
+        return bookIds;
+    }
+
+    private String placeholders(int rows, int columns) {
+        String row = columns == 1 ? "?" : "(" + "?, ".repeat(columns - 1) + "?)";
+        return String.join(", ", Collections.nCopies(rows, row));
+    }
+}
@@ -1,9 +1,19 @@
 package bookstore.repository.book;
 
+import bookstore.dto.book.BookDtoWithoutCategoryIds;
 import bookstore.model.Book;
+import bookstore.repository.book.index.BookCategoryLink;
+import bookstore.repository.book.index.BookIndexEntry;
+import bookstore.repository.book.index.BookPopularity;
+import bookstore.repository.book.index.BookPrice;
+import jakarta.persistence.QueryHint;
+import jakarta.transaction.Transactional;
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
-import java.util.function.Function;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -11,9 +21,12 @@ import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
-import org.springframework.data.repository.query.FluentQuery;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
-public interface BookRepository extends JpaRepository<Book, Long>, JpaSpecificationExecutor<Book> {
+public interface BookRepository extends JpaRepository<Book, Long>, JpaSpecificationExecutor<Book>,
+        BookRepositoryCustom {
     @EntityGraph(attributePaths = "categories")
     Page<Book> findAll(Pageable pageable);
 
@@ -27,13 +40,64 @@ public interface BookRepository extends JpaRepository<Book, Long>, JpaSpecificat
     List<Book> findAll(Specification<Book> spec, Sort sort);
 
     @EntityGraph(attributePaths = "categories")
-    <S extends Book, R> R findBy(Specification<Book> spec,
-                                 Function<FluentQuery.FetchableFluentQuery<S>, R> queryFunction);
+    Optional<Book> findOne(Specification<Book> spec);
 
-    @EntityGraph(attributePaths = "categories")
-    Optional<Book> findById(Long id);
+    @Query("SELECT new bookstore.dto.book.BookDtoWithoutCategoryIds(b.id, b.title, b.author, "
+            + "b.isbn, b.price, b.description, b.coverImage) "
+            + "FROM Book b JOIN b.categories c WHERE c.id = :categoryId")
+    List<BookDtoWithoutCategoryIds> findAllByCategoryId(Long categoryId, Pageable pageable);
 
-    @EntityGraph(attributePaths = "categories")
-    Optional<Book> findOne(Specification<Book> spec);
+    @Query("SELECT new bookstore.dto.book.BookDtoWithoutCategoryIds(b.id, b.title, b.author, "
+            + "b.isbn, b.price, b.description, b.coverImage) "
+            + "FROM Book b JOIN b.categories c WHERE c.id = :categoryId AND b.id > :afterId "
+            + "ORDER BY b.id")
+    List<BookDtoWithoutCategoryIds> findAllByCategoryIdAfter(Long categoryId, Long afterId,
+                                                             Pageable pageable);
+
+    @Query("SELECT new bookstore.repository.book.index.BookIndexEntry("
+            + "b.id, b.title, b.author, b.isbn, b.price) FROM Book b")
+    List<BookIndexEntry> findAllIndexEntries();
+
+    @Query("SELECT new bookstore.repository.book.index.BookCategoryLink(b.id, c.id) "
+            + "FROM Book b JOIN b.categories c")
+    List<BookCategoryLink> findAllCategoryLinks();
+
+    @Query("SELECT new bookstore.repository.book.index.BookIndexEntry("
+            + "b.id, b.title, b.author, b.isbn, b.price) FROM Book b WHERE b.id IN :ids")
+    List<BookIndexEntry> findIndexEntries(Collection<Long> ids);
+
+    @Query("SELECT new bookstore.repository.book.index.BookCategoryLink(b.id, c.id) "
+            + "FROM Book b JOIN b.categories c WHERE b.id IN :ids")
+    List<BookCategoryLink> findCategoryLinks(Collection<Long> ids);
+
+    @Query("SELECT new bookstore.repository.book.index.BookPopularity("
+            + "oi.book.id, SUM(oi.quantity)) FROM OrderItem oi GROUP BY oi.book.id")
+    List<BookPopularity> findAllPopularity();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("SELECT new bookstore.repository.book.BookExportRow(b.id, b.title, b.author, "
+            + "b.isbn, b.price, b.description, b.coverImage, c.id) "
+            + "FROM Book b LEFT JOIN b.categories c ORDER BY b.id")
+    Stream<BookExportRow> streamExportRows();
+
+    @Query("SELECT b.coverImage FROM Book b WHERE b.id = :id")
+    Optional<String> findCoverImageById(Long id);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Book b SET b.price = :price, b.version = b.version + 1 WHERE b.id IN :ids")
+    int updatePrice(List<Long> ids, BigDecimal price);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Book b SET b.price = ROUND(b.price * :factor / :step, 0) * :step, "
+            + "b.version = b.version + 1 WHERE b.id IN :ids")
+    int scalePrice(List<Long> ids, BigDecimal factor, BigDecimal step);
+
+    @Query("SELECT new bookstore.repository.book.index.BookPrice(b.id, b.price) "
+            + "FROM Book b WHERE b.id IN :ids")
+    List<BookPrice> findPrices(List<Long> ids);
 }
 
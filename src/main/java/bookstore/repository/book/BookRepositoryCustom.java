@@ -0,0 +1,21 @@
+package bookstore.repository.book;
+
+import bookstore.model.Book;
+import bookstore.repository.book.search.CompiledBookSearch;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+public interface BookRepositoryCustom {
+    List<Book> findPage(Pageable pageable);
+
+    List<Book> findPage(Specification<Book> spec, Pageable pageable);
+
+    List<Book> findPage(CompiledBookSearch search, Pageable pageable);
+
+    List<Long> findIds(CompiledBookSearch search);
+
+    List<Long> findIds(CompiledBookSearch search, int limit);
+
+    List<Book> findAllByIdInOrder(List<Long> ids);
+}
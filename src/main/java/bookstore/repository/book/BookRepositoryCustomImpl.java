@@ -0,0 +1,135 @@
+package bookstore.repository.book;
+
+import bookstore.model.Book;
+import bookstore.repository.book.search.CompiledBookSearch;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import jakarta.persistence.metamodel.EntityType;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+@RequiredArgsConstructor
+public class BookRepositoryCustomImpl implements BookRepositoryCustom {
+    private static final String ID = "id";
+    private final EntityManager entityManager;
+
+    @Override
+    public List<Book> findPage(Pageable pageable) {
+        return findPage(Specification.where(null), pageable);
+    }
+
+    @Override
+    public List<Book> findPage(Specification<Book> spec, Pageable pageable) {
+        return fetchByIds(findPageIds(spec, pageable));
+    }
+
+    @Override
+    public List<Book> findPage(CompiledBookSearch search, Pageable pageable) {
+        if (search.isEmpty()) {
+            return List.of();
+        }
+        Sort sort = pageable.getSort().getOrderFor(ID) == null
+                ? pageable.getSort().and(Sort.by(ID))
+                : pageable.getSort();
+        EntityType<Book> bookType = entityManager.getMetamodel().entity(Book.class);
+        StringBuilder idQuery = new StringBuilder(search.plan().idQuery()).append(" ORDER BY ");
+        for (Sort.Order order : sort) {
+            bookType.getSingularAttribute(order.getProperty());
+            idQuery.append("b.").append(order.getProperty()).append(' ')
+                    .append(order.getDirection()).append(", ");
+        }
+        TypedQuery<Long> query = entityManager.createQuery(
+                idQuery.substring(0, idQuery.length() - 2), Long.class);
+        search.parameters().forEach(query::setParameter);
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        return fetchByIds(query.getResultList());
+    }
+
+    @Override
+    public List<Long> findIds(CompiledBookSearch search) {
+        return findIds(search, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Long> findIds(CompiledBookSearch search, int limit) {
+        if (search.isEmpty()) {
+            return List.of();
+        }
+        TypedQuery<Long> query = entityManager.createQuery(search.plan().idQuery(), Long.class);
+        search.parameters().forEach(query::setParameter);
+        if (limit < Integer.MAX_VALUE) {
+            query.setMaxResults(limit);
+        }
+        return query.getResultList();
+    }
+
+    @Override
+    public List<Book> findAllByIdInOrder(List<Long> ids) {
+        return fetchByIds(ids);
+    }
+
+    private List<Book> fetchByIds(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Book> books = entityManager.createQuery("SELECT DISTINCT b FROM Book b "
+                        + "LEFT JOIN FETCH b.categories "
+                        + "WHERE b.id IN :ids", Book.class)
+                .setParameter("ids", ids)
+                .getResultList()
+                .stream()
+                .collect(Collectors.toMap(Book::getId, Function.identity()));
+        return ids.stream()
+                .map(books::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private List<Long> findPageIds(Specification<Book> spec, Pageable pageable) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+        Root<Book> root = query.from(Book.class);
+        Predicate predicate = spec.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        Sort sort = pageable.getSort().getOrderFor(ID) == null
+                ? pageable.getSort().and(Sort.by(ID))
+                : pageable.getSort();
+        List<Order> orders = QueryUtils.toOrders(sort, root, criteriaBuilder);
+        List<Selection<?>> selections = orders.stream()
+                .<Selection<?>>map(Order::getExpression)
+                .toList();
+        int idPosition = sort.stream()
+                .map(Sort.Order::getProperty)
+                .toList()
+                .indexOf(ID);
+        query.multiselect(selections).distinct(true).orderBy(orders);
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        return typedQuery.getResultList().stream()
+                .map(t -> t.get(idPosition, Long.class))
+                .toList();
+    }
+}
@@ -3,6 +3,9 @@ package bookstore.repository.book;
 import bookstore.dto.book.BookSearchParametersDto;
 import bookstore.model.Book;
 import bookstore.repository.SpecificationProviderManager;
+import bookstore.repository.book.index.BookSearchIndex;
+import bookstore.repository.book.index.IndexMatch;
+import java.util.Arrays;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Component;
@@ -11,28 +14,44 @@ import org.springframework.stereotype.Component;
 @Component
 public class BookSpecificationBuilderImpl implements BookSpecificationBuilder<Book> {
     private final SpecificationProviderManager<Book> bookSpecificationProviderManager;
+    private final BookSearchIndex bookSearchIndex;
 
     @Override
     public Specification<Book> build(BookSearchParametersDto searchParameters) {
         Specification<Book> spec = Specification.where(null);
-        if (searchParameters.authors() != null && searchParameters.authors().length > 0) {
-            spec = spec.and(bookSpecificationProviderManager.getSpecificationProvider("author")
-                    .getSpecification(searchParameters.authors()));
-        }
-        if (searchParameters.titles() != null && searchParameters.titles().length > 0) {
-            spec = spec.and(bookSpecificationProviderManager.getSpecificationProvider("title")
-                    .getSpecification(searchParameters.titles()));
+        IndexMatch indexMatch = bookSearchIndex.match(searchParameters);
+        if (indexMatch.ids() != null) {
+            spec = spec.and(bookSpecificationProviderManager.getSpecificationProvider("id")
+                    .getSpecification(Arrays.stream(indexMatch.ids())
+                            .mapToObj(String::valueOf)
+                            .toArray(String[]::new)));
+        } else {
+            if (searchParameters.titles() != null && searchParameters.titles().length > 0) {
+                spec = spec.and(bookSpecificationProviderManager.getSpecificationProvider("title")
+                        .getSpecification(searchParameters.titles()));
+            }
+            if (searchParameters.authors() != null && searchParameters.authors().length > 0) {
+                spec = spec.and(bookSpecificationProviderManager
+                        .getSpecificationProvider("author")
+                        .getSpecification(searchParameters.authors()));
+            }
         }
         if (searchParameters.isbns() != null && searchParameters.isbns().length > 0) {
             spec = spec.and(bookSpecificationProviderManager.getSpecificationProvider("isbn")
                     .getSpecification(searchParameters.isbns()));
         }
-        if (searchParameters.prices() != null && searchParameters.prices().length > 0) {
+        if (!indexMatch.pricesResolved() && searchParameters.prices() != null
+                && searchParameters.prices().length > 0) {
             spec = spec.and(bookSpecificationProviderManager.getSpecificationProvider("price")
                     .getSpecification(searchParameters.prices()));
         }
-        if (searchParameters.categories() != null && searchParameters.categories().length > 0) {
-            spec = spec.and(bookSpecificationProviderManager.getSpecificationProvider("category")
+        if (!indexMatch.categoriesResolved() && searchParameters.categories() != null
+                && searchParameters.categories().length > 0) {
+            String key = searchParameters.matchAllCategories() ? "allCategories" : "category";
+            if (searchParameters.matchSubcategories()) {
+                key = searchParameters.matchAllCategories() ? "allSubcategories" : "subcategory";
+            }
+            spec = spec.and(bookSpecificationProviderManager.getSpecificationProvider(key)
                     .getSpecification(searchParameters.categories()));
         }
         return spec;
@@ -4,20 +4,30 @@ import bookstore.model.Book;
 import bookstore.repository.SpecificationProvider;
 import bookstore.repository.SpecificationProviderManager;
 import java.util.List;
-import lombok.RequiredArgsConstructor;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import org.springframework.stereotype.Component;
 
-@RequiredArgsConstructor
 @Component
 public class BookSpecificationProviderManager implements SpecificationProviderManager<Book> {
-    private final List<SpecificationProvider<Book>> bookSpecificationProviders;
+    private final Map<String, SpecificationProvider<Book>> bookSpecificationProviders;
+
+    public BookSpecificationProviderManager(
+            List<SpecificationProvider<Book>> bookSpecificationProviders
+    ) {
+        this.bookSpecificationProviders = bookSpecificationProviders.stream()
+                .collect(Collectors.toUnmodifiableMap(SpecificationProvider::getKey,
+                        Function.identity()));
+    }
 
     @Override
     public SpecificationProvider<Book> getSpecificationProvider(String key) {
-        return bookSpecificationProviders.stream()
-                .filter(p -> p.getKey().equals(key))
-                .findFirst().orElseThrow(
-                        () -> new RuntimeException("Can't find correct specification provider "
-                                + "for key " + key));
+        SpecificationProvider<Book> provider = bookSpecificationProviders.get(key);
+        if (provider == null) {
+            throw new RuntimeException("Can't find correct specification provider "
+                    + "for key " + key);
+        }
+        return provider;
     }
 }
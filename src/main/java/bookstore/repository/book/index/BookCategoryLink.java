@@ -0,0 +1,4 @@
+package bookstore.repository.book.index;
+
+public record BookCategoryLink(Long bookId, Long categoryId) {
+}
@@ -0,0 +1,15 @@
+package bookstore.repository.book.index;
+
+import java.util.List;
+
+public record BookIndexChangedEvent(List<BookIndexEntry> previous, List<BookIndexEntry> current,
+                                    boolean fullRebuild) {
+    public static BookIndexChangedEvent of(BookIndexEntry previous, BookIndexEntry current) {
+        return new BookIndexChangedEvent(previous == null ? List.of() : List.of(previous),
+                current == null ? List.of() : List.of(current), false);
+    }
+
+    public static BookIndexChangedEvent rebuilt() {
+        return new BookIndexChangedEvent(List.of(), List.of(), true);
+    }
+}
@@ -0,0 +1,16 @@
+package bookstore.repository.book.index;
+
+import java.math.BigDecimal;
+
+public record BookIndexEntry(Long id, String title, String author, String isbn,
+                             BigDecimal price, long[] categoryIds) {
+    private static final long[] NO_CATEGORIES = new long[0];
+
+    public BookIndexEntry(Long id, String title, String author, String isbn, BigDecimal price) {
+        this(id, title, author, isbn, price, NO_CATEGORIES);
+    }
+
+    public BookIndexEntry withCategoryIds(long[] categoryIds) {
+        return new BookIndexEntry(id, title, author, isbn, price, categoryIds);
+    }
+}
@@ -0,0 +1,4 @@
+package bookstore.repository.book.index;
+
+public record BookPopularity(Long bookId, Long sold) {
+}
@@ -0,0 +1,6 @@
+package bookstore.repository.book.index;
+
+import java.math.BigDecimal;
+
+public record BookPrice(Long id, BigDecimal price) {
+}
@@ -0,0 +1,624 @@
+package bookstore.repository.book.index;
+
+import bookstore.dto.book.BookFacetsDto;
+import bookstore.dto.book.BookSearchParametersDto;
+import bookstore.dto.book.BookSuggestionDto;
+import bookstore.model.Book;
+import bookstore.model.Category;
+import bookstore.repository.CategoryTree;
+import bookstore.repository.book.BookRepository;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@RequiredArgsConstructor
+@Component
+public class BookSearchIndex {
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final String TOKEN_BOUNDARY_START = "(^|[^\\p{L}\\p{N}])";
+    private static final String TOKEN_BOUNDARY_END = "([^\\p{L}\\p{N}]|$)";
+    private static final long[] EMPTY = new long[0];
+    private static final CompressedBitmap EMPTY_BITMAP = new CompressedBitmap();
+    private static final String ID = "id";
+    private static final String PRICE = "price";
+    private static final String TITLE = "title";
+    private static final String AUTHOR = "author";
+    private final BookRepository bookRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CategoryTree categoryTree;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private InvertedIndex titleIndex = new InvertedIndex();
+    private InvertedIndex authorIndex = new InvertedIndex();
+    private Map<Long, BookIndexEntry> entries = new HashMap<>();
+    private Map<Long, CompressedBitmap> categoryBitmaps = new HashMap<>();
+    private PriceIndex priceIndex = new PriceIndex();
+    private SuggestionTrie suggestionTrie = new SuggestionTrie();
+    private Map<Long, Long> popularity = new HashMap<>();
+    private List<Runnable> pendingMutations;
+    private volatile boolean loaded;
+    @Value("${bookstore.search.facets.price-bucket-width:10}")
+    private BigDecimal priceBucketWidth;
+    @Value("${bookstore.search.max-id-filter-size:10000}")
+    private int maxIdFilterSize;
+
+    public void index(Book book) {
+        BookIndexEntry entry = new BookIndexEntry(book.getId(), book.getTitle(),
+                book.getAuthor(), book.getIsbn(), book.getPrice(), book.getCategories().stream()
+                        .mapToLong(Category::getId)
+                        .sorted()
+                        .toArray());
+        afterCommit(() -> indexEntry(entry));
+    }
+
+    public void remove(Long id) {
+        afterCommit(() -> removeById(id));
+    }
+
+    public void updatePrices(List<BookPrice> prices) {
+        ensureLoaded();
+        List<BookIndexEntry> previous = new ArrayList<>();
+        List<BookIndexEntry> current = new ArrayList<>();
+        lock.writeLock().lock();
+        try {
+            for (BookPrice price : prices) {
+                BookIndexEntry entry = reprice(price);
+                if (entry != null) {
+                    previous.add(entry);
+                    current.add(entries.get(entry.id()));
+                }
+            }
+            recordMutation(() -> prices.forEach(this::reprice));
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (!current.isEmpty()) {
+            eventPublisher.publishEvent(new BookIndexChangedEvent(previous, current, false));
+        }
+    }
+
+    public void refresh(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        ensureLoaded();
+        Map<Long, List<Long>> categoryIds = new HashMap<>();
+        for (BookCategoryLink link : bookRepository.findCategoryLinks(ids)) {
+            categoryIds.computeIfAbsent(link.bookId(), id -> new ArrayList<>())
+                    .add(link.categoryId());
+        }
+        Map<Long, BookIndexEntry> refreshed = new HashMap<>();
+        for (BookIndexEntry indexEntry : bookRepository.findIndexEntries(ids)) {
+            refreshed.put(indexEntry.id(), indexEntry.withCategoryIds(categoryIds
+                    .getOrDefault(indexEntry.id(), List.of()).stream()
+                    .mapToLong(Long::longValue)
+                    .sorted()
+                    .toArray()));
+        }
+        List<BookIndexEntry> previous = new ArrayList<>();
+        List<BookIndexEntry> current = new ArrayList<>();
+        lock.writeLock().lock();
+        try {
+            for (Long id : ids) {
+                BookIndexEntry previousEntry = replace(id, refreshed.get(id));
+                if (previousEntry != null) {
+                    previous.add(previousEntry);
+                }
+                if (refreshed.containsKey(id)) {
+                    current.add(refreshed.get(id));
+                }
+            }
+            List<Long> refreshedIds = List.copyOf(ids);
+            recordMutation(() -> refreshedIds.forEach(id -> replace(id, refreshed.get(id))));
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (!previous.isEmpty() || !current.isEmpty()) {
+            eventPublisher.publishEvent(new BookIndexChangedEvent(previous, current, false));
+        }
+    }
+
+    public void refreshAfterCommit(Collection<Long> ids) {
+        List<Long> bookIds = List.copyOf(ids);
+        afterCommit(() -> refresh(bookIds));
+    }
+
+    public boolean matches(BookSearchParametersDto params, BookIndexEntry entry) {
+        if (entry == null) {
+            return false;
+        }
+        if (isPresent(params.authors()) && Arrays.stream(params.authors())
+                .noneMatch(a -> containsAllTerms(entry.author(), a))) {
+            return false;
+        }
+        if (isPresent(params.titles()) && Arrays.stream(params.titles())
+                .noneMatch(t -> containsAllTerms(entry.title(), t))) {
+            return false;
+        }
+        if (isPresent(params.isbns()) && Arrays.stream(params.isbns())
+                .noneMatch(i -> i.equalsIgnoreCase(entry.isbn()))) {
+            return false;
+        }
+        if (isPresent(params.prices())
+                && (entry.price().compareTo(new BigDecimal(params.prices()[0])) < 0
+                || entry.price().compareTo(new BigDecimal(params.prices()[1])) > 0)) {
+            return false;
+        }
+        if (isPresent(params.categories())) {
+            Stream<Long> categoryIds = Arrays.stream(params.categories()).map(Long::valueOf);
+            boolean subcategories = params.matchSubcategories();
+            return params.matchAllCategories()
+                    ? categoryIds.allMatch(c -> hasCategory(entry, c, subcategories))
+                    : categoryIds.anyMatch(c -> hasCategory(entry, c, subcategories));
+        }
+        return true;
+    }
+
+    public IndexMatch match(BookSearchParametersDto params) {
+        long[] ids = null;
+        if (isPresent(params.authors())) {
+            ids = findByAuthors(params.authors());
+        }
+        if (isPresent(params.titles())) {
+            long[] titleIds = findByTitles(params.titles());
+            ids = ids == null ? titleIds : PostingList.intersect(ids, titleIds);
+        }
+        boolean pricesResolved = false;
+        if (isPresent(params.prices())) {
+            long[] priceIds = findByPrices(params.prices(),
+                    ids == null ? maxIdFilterSize : Integer.MAX_VALUE);
+            if (priceIds != null) {
+                ids = ids == null ? priceIds : PostingList.intersect(ids, priceIds);
+                pricesResolved = true;
+            }
+        }
+        boolean categoriesResolved = false;
+        if (isPresent(params.categories())) {
+            long[] categoryIds = findByCategories(params.categories(),
+                    params.matchAllCategories(), params.matchSubcategories());
+            if (ids != null || categoryIds.length <= maxIdFilterSize) {
+                ids = ids == null ? categoryIds : PostingList.intersect(ids, categoryIds);
+                categoriesResolved = true;
+            }
+        }
+        if (ids != null && ids.length > maxIdFilterSize) {
+            return new IndexMatch(null, false, false);
+        }
+        return new IndexMatch(ids, pricesResolved, categoriesResolved);
+    }
+
+    public boolean isPriceOrdered(Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return false;
+        }
+        List<Sort.Order> orders = pageable.getSort().toList();
+        return !orders.isEmpty() && orders.get(0).getProperty().equals(PRICE)
+                && (orders.size() == 1 || orders.size() == 2
+                && orders.get(1).getProperty().equals(ID) && orders.get(1).isAscending());
+    }
+
+    public List<Long> findIdsByPrice(long[] candidateIds, Pageable pageable) {
+        ensureLoaded();
+        boolean descending = pageable.getSort().getOrderFor(PRICE).isDescending();
+        lock.readLock().lock();
+        try {
+            if (candidateIds == null) {
+                return Arrays.stream(priceIndex.page(descending, pageable.getOffset(),
+                                pageable.getPageSize()))
+                        .boxed()
+                        .toList();
+            }
+            Comparator<BookIndexEntry> byPrice = Comparator.comparing(BookIndexEntry::price);
+            return Arrays.stream(candidateIds)
+                    .mapToObj(entries::get)
+                    .filter(Objects::nonNull)
+                    .sorted((descending ? byPrice.reversed() : byPrice)
+                            .thenComparing(BookIndexEntry::id))
+                    .skip(pageable.getOffset())
+                    .limit(pageable.getPageSize())
+                    .map(BookIndexEntry::id)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long[] findByCategories(String[] categoryIds, boolean matchAll,
+                                   boolean subcategories) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            CompressedBitmap result = null;
+            for (String categoryId : categoryIds) {
+                CompressedBitmap bitmap = subcategories
+                        ? findBySubtree(Long.parseLong(categoryId))
+                        : categoryBitmaps.getOrDefault(Long.valueOf(categoryId), EMPTY_BITMAP);
+                if (result == null) {
+                    result = bitmap;
+                } else {
+                    result = matchAll
+                            ? CompressedBitmap.and(result, bitmap)
+                            : CompressedBitmap.or(result, bitmap);
+                }
+            }
+            return result == null ? EMPTY : result.toArray();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long[] findByTitles(String[] titles) {
+        return find(titles, true);
+    }
+
+    public long[] findByAuthors(String[] authors) {
+        return find(authors, false);
+    }
+
+    public List<BookSuggestionDto> suggest(String prefix, int limit) {
+        if (prefix == null || prefix.isBlank()) {
+            return List.of();
+        }
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            return suggestionTrie.complete(prefix, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public BookFacetsDto countFacets(Collection<Long> ids) {
+        return collectFacets(all -> ids.stream().map(all::get));
+    }
+
+    public BookFacetsDto countFacets(long[] ids) {
+        return collectFacets(all -> Arrays.stream(ids).mapToObj(all::get));
+    }
+
+    public BookFacetsDto countAllFacets() {
+        return collectFacets(all -> all.values().stream());
+    }
+
+    @Scheduled(fixedDelayString = "${bookstore.search-index.refresh-interval:PT10M}",
+            initialDelayString = "${bookstore.search-index.refresh-interval:PT10M}")
+    public synchronized void rebuild() {
+        lock.writeLock().lock();
+        try {
+            pendingMutations = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            load();
+        } finally {
+            lock.writeLock().lock();
+            try {
+                pendingMutations = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        eventPublisher.publishEvent(BookIndexChangedEvent.rebuilt());
+    }
+
+    private void load() {
+        InvertedIndex newTitleIndex = new InvertedIndex();
+        InvertedIndex newAuthorIndex = new InvertedIndex();
+        Map<Long, BookIndexEntry> newEntries = new HashMap<>();
+        Map<Long, CompressedBitmap> newCategoryBitmaps = new HashMap<>();
+        SuggestionTrie newSuggestionTrie = new SuggestionTrie();
+        Map<Long, Long> newPopularity = new HashMap<>();
+        for (BookPopularity bookPopularity : bookRepository.findAllPopularity()) {
+            newPopularity.put(bookPopularity.bookId(), bookPopularity.sold());
+        }
+        Map<Long, List<Long>> categoryIds = new HashMap<>();
+        for (BookCategoryLink link : bookRepository.findAllCategoryLinks()) {
+            categoryIds.computeIfAbsent(link.bookId(), id -> new ArrayList<>())
+                    .add(link.categoryId());
+            newCategoryBitmaps.computeIfAbsent(link.categoryId(), id -> new CompressedBitmap())
+                    .add(link.bookId());
+        }
+        List<BookIndexEntry> indexEntries = bookRepository.findAllIndexEntries();
+        long[] priceIds = new long[indexEntries.size()];
+        long[] priceCents = new long[indexEntries.size()];
+        int priced = 0;
+        for (BookIndexEntry indexEntry : indexEntries) {
+            BookIndexEntry entry = indexEntry.withCategoryIds(categoryIds
+                    .getOrDefault(indexEntry.id(), List.of()).stream()
+                    .mapToLong(Long::longValue)
+                    .sorted()
+                    .toArray());
+            newEntries.put(entry.id(), entry);
+            tokenize(entry.title()).forEach(t -> newTitleIndex.add(t, entry.id()));
+            tokenize(entry.author()).forEach(t -> newAuthorIndex.add(t, entry.id()));
+            priceIds[priced] = entry.id();
+            priceCents[priced++] = PriceIndex.toCents(entry.price(), RoundingMode.FLOOR);
+            long weight = newPopularity.getOrDefault(entry.id(), 0L) + 1;
+            newSuggestionTrie.add(TITLE, entry.title(), weight);
+            newSuggestionTrie.add(AUTHOR, entry.author(), weight);
+        }
+        lock.writeLock().lock();
+        try {
+            titleIndex = newTitleIndex;
+            authorIndex = newAuthorIndex;
+            entries = newEntries;
+            categoryBitmaps = newCategoryBitmaps;
+            priceIndex = PriceIndex.of(priceIds, priceCents);
+            suggestionTrie = newSuggestionTrie;
+            popularity = newPopularity;
+            pendingMutations.forEach(Runnable::run);
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void indexEntry(BookIndexEntry entry) {
+        ensureLoaded();
+        BookIndexEntry previous;
+        lock.writeLock().lock();
+        try {
+            previous = replace(entry.id(), entry);
+            recordMutation(() -> replace(entry.id(), entry));
+        } finally {
+            lock.writeLock().unlock();
+        }
+        eventPublisher.publishEvent(BookIndexChangedEvent.of(previous, entry));
+    }
+
+    private void removeById(Long id) {
+        ensureLoaded();
+        BookIndexEntry previous;
+        lock.writeLock().lock();
+        try {
+            previous = replace(id, null);
+            recordMutation(() -> replace(id, null));
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (previous != null) {
+            eventPublisher.publishEvent(BookIndexChangedEvent.of(previous, null));
+        }
+    }
+
+    private long[] findByPrices(String[] prices, int limit) {
+        ensureLoaded();
+        long minCents = PriceIndex.toCents(new BigDecimal(prices[0]), RoundingMode.CEILING);
+        long maxCents = PriceIndex.toCents(new BigDecimal(prices[1]), RoundingMode.FLOOR);
+        lock.readLock().lock();
+        try {
+            return priceIndex.count(minCents, maxCents) > limit
+                    ? null : priceIndex.range(minCents, maxCents);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private long[] find(String[] phrases, boolean byTitle) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            InvertedIndex index = byTitle ? titleIndex : authorIndex;
+            long[] result = EMPTY;
+            for (String phrase : phrases) {
+                result = PostingList.union(result, matchAllTerms(index, phrase));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private long[] matchAllTerms(InvertedIndex index, String phrase) {
+        String[] terms = tokenize(phrase).toArray(String[]::new);
+        if (terms.length == 0) {
+            return EMPTY;
+        }
+        long[] result = index.get(terms[0]);
+        for (int i = 1; i < terms.length && result.length > 0; i++) {
+            result = PostingList.intersect(result, index.get(terms[i]));
+        }
+        return result;
+    }
+
+    private boolean containsAllTerms(String text, String phrase) {
+        Set<String> textTerms = tokenize(text).collect(Collectors.toSet());
+        List<String> terms = tokenize(phrase).toList();
+        return !terms.isEmpty() && textTerms.containsAll(terms);
+    }
+
+    private BookFacetsDto collectFacets(
+            Function<Map<Long, BookIndexEntry>, Stream<BookIndexEntry>> matched) {
+        ensureLoaded();
+        Map<Long, Long> categories = new TreeMap<>();
+        Map<String, Long> authors = new TreeMap<>();
+        Map<BigDecimal, Long> prices = new TreeMap<>();
+        lock.readLock().lock();
+        try {
+            matched.apply(entries).filter(Objects::nonNull).forEach(entry -> {
+                for (long categoryId : entry.categoryIds()) {
+                    categories.merge(categoryId, 1L, Long::sum);
+                }
+                authors.merge(entry.author(), 1L, Long::sum);
+                prices.merge(toPriceBucket(entry.price()), 1L, Long::sum);
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+        return new BookFacetsDto()
+                .setCategories(categories)
+                .setAuthors(authors)
+                .setPrices(toPriceLabels(prices));
+    }
+
+    private CompressedBitmap findBySubtree(long categoryId) {
+        CompressedBitmap result = EMPTY_BITMAP;
+        for (long descendantId : categoryTree.findSubtree(categoryId)) {
+            result = CompressedBitmap.or(result,
+                    categoryBitmaps.getOrDefault(descendantId, EMPTY_BITMAP));
+        }
+        return result;
+    }
+
+    private boolean hasCategory(BookIndexEntry entry, long categoryId, boolean subcategories) {
+        if (!subcategories) {
+            return Arrays.binarySearch(entry.categoryIds(), categoryId) >= 0;
+        }
+        long[] subtree = categoryTree.findSubtree(categoryId);
+        for (long bookCategoryId : entry.categoryIds()) {
+            if (Arrays.binarySearch(subtree, bookCategoryId) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isPresent(String[] values) {
+        return values != null && values.length > 0;
+    }
+
+    private BookIndexEntry replace(Long id, BookIndexEntry entry) {
+        BookIndexEntry previous = entries.remove(id);
+        removeEntry(previous);
+        if (entry != null) {
+            addEntry(entry);
+        }
+        return previous;
+    }
+
+    private BookIndexEntry reprice(BookPrice price) {
+        BookIndexEntry entry = entries.get(price.id());
+        if (entry == null || entry.price().compareTo(price.price()) == 0) {
+            return null;
+        }
+        BookIndexEntry repriced = new BookIndexEntry(entry.id(), entry.title(),
+                entry.author(), entry.isbn(), price.price(), entry.categoryIds());
+        long previousCents = PriceIndex.toCents(entry.price(), RoundingMode.FLOOR);
+        priceIndex.remove(entry.id(), previousCents);
+        priceIndex.add(entry.id(), PriceIndex.toCents(price.price(), RoundingMode.FLOOR));
+        entries.put(entry.id(), repriced);
+        return entry;
+    }
+
+    private void recordMutation(Runnable mutation) {
+        if (pendingMutations != null) {
+            pendingMutations.add(mutation);
+        }
+    }
+
+    private void addEntry(BookIndexEntry entry) {
+        entries.put(entry.id(), entry);
+        tokenize(entry.title()).forEach(t -> titleIndex.add(t, entry.id()));
+        tokenize(entry.author()).forEach(t -> authorIndex.add(t, entry.id()));
+        priceIndex.add(entry.id(), PriceIndex.toCents(entry.price(), RoundingMode.FLOOR));
+        suggestionTrie.add(TITLE, entry.title(), suggestionWeight(entry));
+        suggestionTrie.add(AUTHOR, entry.author(), suggestionWeight(entry));
+        for (long categoryId : entry.categoryIds()) {
+            categoryBitmaps.computeIfAbsent(categoryId, id -> new CompressedBitmap())
+                    .add(entry.id());
+        }
+    }
+
+    private void removeEntry(BookIndexEntry entry) {
+        if (entry == null) {
+            return;
+        }
+        tokenize(entry.title()).forEach(t -> titleIndex.remove(t, entry.id()));
+        tokenize(entry.author()).forEach(t -> authorIndex.remove(t, entry.id()));
+        priceIndex.remove(entry.id(), PriceIndex.toCents(entry.price(), RoundingMode.FLOOR));
+        suggestionTrie.remove(TITLE, entry.title(), suggestionWeight(entry));
+        suggestionTrie.remove(AUTHOR, entry.author(), suggestionWeight(entry));
+        for (long categoryId : entry.categoryIds()) {
+            CompressedBitmap bitmap = categoryBitmaps.get(categoryId);
+            if (bitmap != null) {
+                bitmap.remove(entry.id());
+                if (bitmap.isEmpty()) {
+                    categoryBitmaps.remove(categoryId);
+                }
+            }
+        }
+    }
+
+    private long suggestionWeight(BookIndexEntry entry) {
+        return popularity.getOrDefault(entry.id(), 0L) + 1;
+    }
+
+    private BigDecimal toPriceBucket(BigDecimal price) {
+        return price.divideToIntegralValue(priceBucketWidth).multiply(priceBucketWidth);
+    }
+
+    private Map<String, Long> toPriceLabels(Map<BigDecimal, Long> buckets) {
+        Map<String, Long> labels = new LinkedHashMap<>();
+        buckets.forEach((lower, count) -> labels.put(lower.stripTrailingZeros().toPlainString()
+                + "-" + lower.add(priceBucketWidth).stripTrailingZeros().toPlainString(), count));
+        return labels;
+    }
+
+    private void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+
+    private void ensureLoaded() {
+        if (!loaded) {
+            synchronized (this) {
+                if (!loaded) {
+                    rebuild();
+                }
+            }
+        }
+    }
+
+    public static String toTokenPattern(String phrase) {
+        List<String> terms = tokenize(phrase).toList();
+        if (terms.isEmpty()) {
+            return null;
+        }
+        return terms.stream()
+                .map(t -> "(?=.*" + TOKEN_BOUNDARY_START + t + TOKEN_BOUNDARY_END + ")")
+                .collect(Collectors.joining("", "(?s)^", ""));
+    }
+
+    private static Stream<String> tokenize(String text) {
+        if (text == null) {
+            return Stream.empty();
+        }
+        return Arrays.stream(TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT)))
+                .filter(t -> !t.isEmpty())
+                .distinct();
+    }
+}
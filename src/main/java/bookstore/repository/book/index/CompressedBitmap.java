@@ -0,0 +1,256 @@
+package bookstore.repository.book.index;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+public class CompressedBitmap {
+    private static final int ARRAY_LIMIT = 4096;
+    private static final int CHUNK_BITS = 16;
+    private static final int LOW_MASK = 0xFFFF;
+    private static final int WORDS = 1 << (CHUNK_BITS - 6);
+    private final TreeMap<Long, Container> containers = new TreeMap<>();
+
+    public void add(long value) {
+        long key = value >> CHUNK_BITS;
+        Container container = containers.get(key);
+        if (container == null) {
+            containers.put(key, new Container().add(low(value)));
+        } else {
+            containers.put(key, container.add(low(value)));
+        }
+    }
+
+    public void remove(long value) {
+        long key = value >> CHUNK_BITS;
+        Container container = containers.get(key);
+        if (container == null) {
+            return;
+        }
+        Container result = container.remove(low(value));
+        if (result.cardinality == 0) {
+            containers.remove(key);
+        } else {
+            containers.put(key, result);
+        }
+    }
+
+    public boolean contains(long value) {
+        Container container = containers.get(value >> CHUNK_BITS);
+        return container != null && container.contains(low(value));
+    }
+
+    public boolean isEmpty() {
+        return containers.isEmpty();
+    }
+
+    public long cardinality() {
+        long cardinality = 0;
+        for (Container container : containers.values()) {
+            cardinality += container.cardinality;
+        }
+        return cardinality;
+    }
+
+    public long[] toArray() {
+        long[] result = new long[(int) cardinality()];
+        int position = 0;
+        for (Map.Entry<Long, Container> entry : containers.entrySet()) {
+            long high = entry.getKey() << CHUNK_BITS;
+            for (int low : entry.getValue().values()) {
+                result[position++] = high | low;
+            }
+        }
+        return result;
+    }
+
+    public static CompressedBitmap or(CompressedBitmap first, CompressedBitmap second) {
+        CompressedBitmap result = new CompressedBitmap();
+        first.containers.forEach((key, container) -> result.containers.put(key, container.copy()));
+        second.containers.forEach((key, container) -> result.containers.merge(key,
+                container.copy(), Container::or));
+        return result;
+    }
+
+    public static CompressedBitmap and(CompressedBitmap first, CompressedBitmap second) {
+        CompressedBitmap result = new CompressedBitmap();
+        for (Map.Entry<Long, Container> entry : first.containers.entrySet()) {
+            Container other = second.containers.get(entry.getKey());
+            if (other != null) {
+                Container container = entry.getValue().and(other);
+                if (container.cardinality > 0) {
+                    result.containers.put(entry.getKey(), container);
+                }
+            }
+        }
+        return result;
+    }
+
+    private static int low(long value) {
+        return (int) (value & LOW_MASK);
+    }
+
+    private static final class Container {
+        private char[] array = new char[4];
+        private long[] bitmap;
+        private int cardinality;
+
+        private Container add(int value) {
+            if (bitmap != null) {
+                long word = bitmap[value >>> 6];
+                long updated = word | (1L << value);
+                if (updated != word) {
+                    bitmap[value >>> 6] = updated;
+                    cardinality++;
+                }
+                return this;
+            }
+            int position = Arrays.binarySearch(array, 0, cardinality, (char) value);
+            if (position >= 0) {
+                return this;
+            }
+            if (cardinality == ARRAY_LIMIT) {
+                return toBitmap().add(value);
+            }
+            int insertAt = -position - 1;
+            if (cardinality == array.length) {
+                array = Arrays.copyOf(array, Math.min(ARRAY_LIMIT, cardinality * 2));
+            }
+            System.arraycopy(array, insertAt, array, insertAt + 1, cardinality - insertAt);
+            array[insertAt] = (char) value;
+            cardinality++;
+            return this;
+        }
+
+        private Container remove(int value) {
+            if (bitmap != null) {
+                long word = bitmap[value >>> 6];
+                long updated = word & ~(1L << value);
+                if (updated != word) {
+                    bitmap[value >>> 6] = updated;
+                    cardinality--;
+                }
+                return cardinality <= ARRAY_LIMIT ? toArrayContainer() : this;
+            }
+            int position = Arrays.binarySearch(array, 0, cardinality, (char) value);
+            if (position >= 0) {
+                System.arraycopy(array, position + 1, array, position,
+                        cardinality - position - 1);
+                cardinality--;
+            }
+            return this;
+        }
+
+        private boolean contains(int value) {
+            if (bitmap != null) {
+                return (bitmap[value >>> 6] & (1L << value)) != 0;
+            }
+            return Arrays.binarySearch(array, 0, cardinality, (char) value) >= 0;
+        }
+
+        private int[] values() {
+            int[] values = new int[cardinality];
+            if (bitmap == null) {
+                for (int i = 0; i < cardinality; i++) {
+                    values[i] = array[i];
+                }
+                return values;
+            }
+            int position = 0;
+            for (int i = 0; i < WORDS; i++) {
+                long word = bitmap[i];
+                while (word != 0) {
+                    values[position++] = (i << 6) + Long.numberOfTrailingZeros(word);
+                    word &= word - 1;
+                }
+            }
+            return values;
+        }
+
+        private Container or(Container other) {
+            if (bitmap == null && other.bitmap == null
+                    && cardinality + other.cardinality <= ARRAY_LIMIT) {
+                Container result = new Container();
+                result.array = new char[Math.max(4, cardinality + other.cardinality)];
+                int i = 0;
+                int j = 0;
+                while (i < cardinality || j < other.cardinality) {
+                    char next;
+                    if (j == other.cardinality
+                            || i < cardinality && array[i] < other.array[j]) {
+                        next = array[i++];
+                    } else if (i == cardinality || other.array[j] < array[i]) {
+                        next = other.array[j++];
+                    } else {
+                        next = array[i++];
+                        j++;
+                    }
+                    result.array[result.cardinality++] = next;
+                }
+                return result;
+            }
+            Container result = copy().toBitmap();
+            for (int value : other.values()) {
+                result.add(value);
+            }
+            return result;
+        }
+
+        private Container and(Container other) {
+            Container result = new Container();
+            if (bitmap != null && other.bitmap != null) {
+                result.bitmap = new long[WORDS];
+                for (int i = 0; i < WORDS; i++) {
+                    result.bitmap[i] = bitmap[i] & other.bitmap[i];
+                    result.cardinality += Long.bitCount(result.bitmap[i]);
+                }
+                return result.cardinality <= ARRAY_LIMIT ? result.toArrayContainer() : result;
+            }
+            Container smaller = cardinality <= other.cardinality ? this : other;
+            Container larger = smaller == this ? other : this;
+            for (int value : smaller.values()) {
+                if (larger.contains(value)) {
+                    result.add(value);
+                }
+            }
+            return result;
+        }
+
+        private Container copy() {
+            Container copy = new Container();
+            copy.cardinality = cardinality;
+            if (bitmap != null) {
+                copy.bitmap = bitmap.clone();
+                copy.array = null;
+            } else {
+                copy.array = Arrays.copyOf(array, Math.max(4, cardinality));
+            }
+            return copy;
+        }
+
+        private Container toBitmap() {
+            if (bitmap != null) {
+                return this;
+            }
+            bitmap = new long[WORDS];
+            for (int i = 0; i < cardinality; i++) {
+                bitmap[array[i] >>> 6] |= 1L << array[i];
+            }
+            array = null;
+            return this;
+        }
+
+        private Container toArrayContainer() {
+            if (bitmap == null) {
+                return this;
+            }
+            array = new char[Math.max(4, cardinality)];
+            int[] values = values();
+            for (int i = 0; i < values.length; i++) {
+                array[i] = (char) values[i];
+            }
+            bitmap = null;
+            return this;
+        }
+    }
+}
@@ -0,0 +1,4 @@
+package bookstore.repository.book.index;
+
+public record IndexMatch(long[] ids, boolean pricesResolved, boolean categoriesResolved) {
+}
@@ -0,0 +1,29 @@
+package bookstore.repository.book.index;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class InvertedIndex {
+    private static final long[] EMPTY = new long[0];
+    private final Map<String, PostingList> postings = new HashMap<>();
+
+    public void add(String term, long id) {
+        postings.computeIfAbsent(term, t -> new PostingList()).add(id);
+    }
+
+    public void remove(String term, long id) {
+        PostingList postingList = postings.get(term);
+        if (postingList != null && postingList.remove(id) && postingList.isEmpty()) {
+            postings.remove(term);
+        }
+    }
+
+    public long[] get(String term) {
+        PostingList postingList = postings.get(term);
+        return postingList == null ? EMPTY : postingList.toArray();
+    }
+
+    public int termCount() {
+        return postings.size();
+    }
+}
@@ -0,0 +1,144 @@
+package bookstore.repository.book.index;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.Comparator;
+
+public class PriceIndex {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final BigDecimal MIN_CENTS = BigDecimal.valueOf(Long.MIN_VALUE);
+    private static final BigDecimal MAX_CENTS = BigDecimal.valueOf(Long.MAX_VALUE);
+    private long[] cents = new long[INITIAL_CAPACITY];
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private int size;
+
+    public static PriceIndex of(long[] ids, long[] priceCents) {
+        Integer[] order = new Integer[ids.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.<Integer>comparingLong(i -> priceCents[i])
+                .thenComparingLong(i -> ids[i]));
+        PriceIndex index = new PriceIndex();
+        int capacity = Math.max(INITIAL_CAPACITY, order.length);
+        index.cents = new long[capacity];
+        index.ids = new long[capacity];
+        for (int position : order) {
+            if (index.size > 0 && index.cents[index.size - 1] == priceCents[position]
+                    && index.ids[index.size - 1] == ids[position]) {
+                continue;
+            }
+            index.cents[index.size] = priceCents[position];
+            index.ids[index.size] = ids[position];
+            index.size++;
+        }
+        return index;
+    }
+
+    public boolean add(long id, long priceCents) {
+        int position = search(id, priceCents);
+        if (position >= 0) {
+            return false;
+        }
+        int insertAt = -position - 1;
+        if (size == ids.length) {
+            cents = Arrays.copyOf(cents, size * 2);
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        System.arraycopy(cents, insertAt, cents, insertAt + 1, size - insertAt);
+        System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+        cents[insertAt] = priceCents;
+        ids[insertAt] = id;
+        size++;
+        return true;
+    }
+
+    public boolean remove(long id, long priceCents) {
+        int position = search(id, priceCents);
+        if (position < 0) {
+            return false;
+        }
+        System.arraycopy(cents, position + 1, cents, position, size - position - 1);
+        System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+        size--;
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int count(long minCents, long maxCents) {
+        return Math.max(0, upperBound(maxCents) - lowerBound(minCents));
+    }
+
+    public long[] range(long minCents, long maxCents) {
+        int from = lowerBound(minCents);
+        int to = upperBound(maxCents);
+        if (from >= to) {
+            return new long[0];
+        }
+        long[] result = Arrays.copyOfRange(ids, from, to);
+        Arrays.sort(result);
+        return result;
+    }
+
+    public long[] page(boolean descending, long offset, int limit) {
+        int length = (int) Math.max(0, Math.min(limit, size - offset));
+        long[] result = new long[length];
+        for (int i = 0; i < length; i++) {
+            result[i] = ids[descending ? descendingPosition(offset + i) : (int) offset + i];
+        }
+        return result;
+    }
+
+    public static long toCents(BigDecimal price, RoundingMode roundingMode) {
+        BigDecimal value = price.movePointRight(2).setScale(0, roundingMode);
+        if (value.compareTo(MAX_CENTS) > 0) {
+            return Long.MAX_VALUE;
+        }
+        return value.compareTo(MIN_CENTS) < 0 ? Long.MIN_VALUE : value.longValue();
+    }
+
+    private int descendingPosition(long rank) {
+        int ascending = (int) (size - 1 - rank);
+        int groupStart = lowerBound(cents[ascending]);
+        int groupEnd = upperBound(cents[ascending]);
+        return groupStart + (int) (rank - (size - groupEnd));
+    }
+
+    private int search(long id, long priceCents) {
+        int low = lowerBound(priceCents);
+        int high = upperBound(priceCents);
+        return Arrays.binarySearch(ids, low, high, id);
+    }
+
+    private int lowerBound(long priceCents) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (cents[middle] < priceCents) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private int upperBound(long priceCents) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (cents[middle] <= priceCents) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
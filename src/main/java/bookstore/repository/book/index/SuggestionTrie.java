@@ -0,0 +1,237 @@
+package bookstore.repository.book.index;
+
+import bookstore.dto.book.BookSuggestionDto;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class SuggestionTrie {
+    private static final Pattern WORD_START = Pattern.compile("(?<![\\p{L}\\p{N}])[\\p{L}\\p{N}]");
+    private static final Comparator<Candidate> BY_WEIGHT = Comparator
+            .comparingLong(Candidate::weight).reversed()
+            .thenComparing(c -> c.completion() == null)
+            .thenComparing(c -> c.completion() == null ? "" : c.completion().key);
+    private final Node root = new Node();
+    private final Map<String, Completion> completions = new HashMap<>();
+
+    public void add(String field, String text, long weight) {
+        if (text == null || text.isBlank()) {
+            return;
+        }
+        String key = text.trim().toLowerCase(Locale.ROOT);
+        Completion completion = completions.get(field + ':' + key);
+        if (completion == null) {
+            completion = new Completion(field, text.trim(), key);
+            completions.put(field + ':' + key, completion);
+            completion.weight = weight;
+            for (String suffix : wordSuffixes(key)) {
+                insert(suffix, completion);
+            }
+        } else {
+            completion.weight += weight;
+            for (String suffix : wordSuffixes(key)) {
+                refresh(suffix);
+            }
+        }
+        completion.books++;
+    }
+
+    public void remove(String field, String text, long weight) {
+        if (text == null || text.isBlank()) {
+            return;
+        }
+        String key = text.trim().toLowerCase(Locale.ROOT);
+        Completion completion = completions.get(field + ':' + key);
+        if (completion == null) {
+            return;
+        }
+        completion.weight -= weight;
+        if (--completion.books == 0) {
+            completions.remove(field + ':' + key);
+            for (String suffix : wordSuffixes(key)) {
+                delete(suffix, completion);
+            }
+        } else {
+            for (String suffix : wordSuffixes(key)) {
+                refresh(suffix);
+            }
+        }
+    }
+
+    public List<BookSuggestionDto> complete(String prefix, int limit) {
+        Node node = root;
+        for (char c : prefix.trim().toLowerCase(Locale.ROOT).toCharArray()) {
+            node = node.child(c);
+            if (node == null) {
+                return List.of();
+            }
+        }
+        List<BookSuggestionDto> result = new ArrayList<>();
+        Set<Completion> seen = new HashSet<>();
+        PriorityQueue<Candidate> queue = new PriorityQueue<>(BY_WEIGHT);
+        queue.add(new Candidate(node.maxWeight, node, null));
+        while (!queue.isEmpty() && result.size() < limit) {
+            Candidate candidate = queue.poll();
+            if (candidate.completion() != null) {
+                if (seen.add(candidate.completion())) {
+                    result.add(candidate.completion().toDto());
+                }
+                continue;
+            }
+            Node current = candidate.node();
+            for (Completion completion : current.completions) {
+                queue.add(new Candidate(completion.weight, null, completion));
+            }
+            for (int i = 0; i < current.size; i++) {
+                queue.add(new Candidate(current.children[i].maxWeight, current.children[i], null));
+            }
+        }
+        return result;
+    }
+
+    private void insert(String suffix, Completion completion) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        for (char c : suffix.toCharArray()) {
+            node = node.childOrCreate(c);
+            path.add(node);
+        }
+        node.completions.add(completion);
+        updateMaxWeights(path);
+    }
+
+    private void refresh(String suffix) {
+        List<Node> path = findPath(suffix);
+        if (path != null) {
+            updateMaxWeights(path);
+        }
+    }
+
+    private void delete(String suffix, Completion completion) {
+        List<Node> path = findPath(suffix);
+        if (path == null) {
+            return;
+        }
+        path.get(path.size() - 1).completions.remove(completion);
+        for (int i = path.size() - 1; i > 0; i--) {
+            Node node = path.get(i);
+            if (node.size == 0 && node.completions.isEmpty()) {
+                path.get(i - 1).removeChild(suffix.charAt(i - 1));
+            }
+        }
+        updateMaxWeights(path);
+    }
+
+    private List<Node> findPath(String suffix) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        for (char c : suffix.toCharArray()) {
+            node = node.child(c);
+            if (node == null) {
+                return null;
+            }
+            path.add(node);
+        }
+        return path;
+    }
+
+    private void updateMaxWeights(List<Node> path) {
+        for (int i = path.size() - 1; i >= 0; i--) {
+            Node node = path.get(i);
+            long maxWeight = 0;
+            for (Completion completion : node.completions) {
+                maxWeight = Math.max(maxWeight, completion.weight);
+            }
+            for (int j = 0; j < node.size; j++) {
+                maxWeight = Math.max(maxWeight, node.children[j].maxWeight);
+            }
+            node.maxWeight = maxWeight;
+        }
+    }
+
+    private static List<String> wordSuffixes(String key) {
+        List<String> suffixes = new ArrayList<>();
+        Matcher matcher = WORD_START.matcher(key);
+        while (matcher.find()) {
+            suffixes.add(key.substring(matcher.start()));
+        }
+        return suffixes;
+    }
+
+    private record Candidate(long weight, Node node, Completion completion) {
+    }
+
+    private static final class Node {
+        private char[] keys = new char[0];
+        private Node[] children = new Node[0];
+        private int size;
+        private List<Completion> completions = new ArrayList<>(1);
+        private long maxWeight;
+
+        private Node child(char c) {
+            int position = Arrays.binarySearch(keys, 0, size, c);
+            return position >= 0 ? children[position] : null;
+        }
+
+        private Node childOrCreate(char c) {
+            int position = Arrays.binarySearch(keys, 0, size, c);
+            if (position >= 0) {
+                return children[position];
+            }
+            int insertAt = -position - 1;
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, Math.max(1, size * 2));
+                children = Arrays.copyOf(children, Math.max(1, size * 2));
+            }
+            System.arraycopy(keys, insertAt, keys, insertAt + 1, size - insertAt);
+            System.arraycopy(children, insertAt, children, insertAt + 1, size - insertAt);
+            Node child = new Node();
+            keys[insertAt] = c;
+            children[insertAt] = child;
+            size++;
+            return child;
+        }
+
+        private void removeChild(char c) {
+            int position = Arrays.binarySearch(keys, 0, size, c);
+            if (position < 0) {
+                return;
+            }
+            System.arraycopy(keys, position + 1, keys, position, size - position - 1);
+            System.arraycopy(children, position + 1, children, position, size - position - 1);
+            children[--size] = null;
+        }
+    }
+
+    private static final class Completion {
+        private final String field;
+        private final String text;
+        private final String key;
+        private long weight;
+        private int books;
+
+        private Completion(String field, String text, String key) {
+            this.field = field;
+            this.text = text;
+            this.key = key;
+        }
+
+        private BookSuggestionDto toDto() {
+            return new BookSuggestionDto()
+                    .setText(text)
+                    .setField(field)
+                    .setPopularity(weight);
+        }
+    }
+}
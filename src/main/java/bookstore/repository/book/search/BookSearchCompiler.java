@@ -0,0 +1,184 @@
+package bookstore.repository.book.search;
+
+import bookstore.dto.book.BookSearchParametersDto;
+import bookstore.dto.cache.CacheStatsDto;
+import bookstore.repository.book.index.BookSearchIndex;
+import bookstore.repository.book.index.IndexMatch;
+import bookstore.service.CacheStatsProvider;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@RequiredArgsConstructor
+@Component
+public class BookSearchCompiler implements CacheStatsProvider {
+    private final BookSearchIndex bookSearchIndex;
+    private final ConcurrentMap<BookSearchShape, BookSearchPlan> plans = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public CompiledBookSearch compile(BookSearchParametersDto params) {
+        IndexMatch indexMatch = bookSearchIndex.match(params);
+        long[] ids = indexMatch.ids();
+        if (ids != null && ids.length == 0) {
+            return CompiledBookSearch.empty();
+        }
+        List<String> titles = ids == null ? tokenPatterns(params.titles()) : null;
+        List<String> authors = ids == null ? tokenPatterns(params.authors()) : null;
+        if (titles != null && titles.isEmpty() || authors != null && authors.isEmpty()) {
+            return CompiledBookSearch.empty();
+        }
+        String[] isbns = nonEmpty(params.isbns());
+        String[] prices = indexMatch.pricesResolved() ? null : nonEmpty(params.prices());
+        String[] categoryIds = indexMatch.categoriesResolved()
+                ? null : nonEmpty(params.categories());
+        BookSearchShape shape = new BookSearchShape(
+                ids == null ? 0 : bucket(ids.length),
+                titles == null ? 0 : bucket(titles.size()),
+                authors == null ? 0 : bucket(authors.size()),
+                isbns == null ? 0 : bucket(isbns.length),
+                prices != null,
+                categoryIds == null ? 0 : bucket(categoryIds.length),
+                categoryIds != null && params.matchAllCategories(),
+                categoryIds != null && params.matchSubcategories());
+
+        Map<String, Object> parameters = new HashMap<>();
+        if (ids != null) {
+            parameters.put("ids", pad(Arrays.stream(ids).boxed().toList(), shape.ids()));
+        }
+        if (titles != null) {
+            putAll(parameters, "title", pad(titles, shape.titles()));
+        }
+        if (authors != null) {
+            putAll(parameters, "author", pad(authors, shape.authors()));
+        }
+        if (isbns != null) {
+            parameters.put("isbns", pad(Arrays.asList(isbns), shape.isbns()));
+        }
+        if (prices != null) {
+            parameters.put("minPrice", new BigDecimal(prices[0]));
+            parameters.put("maxPrice", new BigDecimal(prices[1]));
+        }
+        if (categoryIds != null) {
+            List<Long> distinctCategoryIds = Arrays.stream(categoryIds)
+                    .map(Long::valueOf)
+                    .distinct()
+                    .toList();
+            parameters.put("categoryIds", pad(distinctCategoryIds, shape.categoryIds()));
+            if (shape.allCategories()) {
+                parameters.put("categoryCount", (long) distinctCategoryIds.size());
+            }
+        }
+        return new CompiledBookSearch(getPlan(shape), parameters, ids, titles == null
+                && authors == null && isbns == null && prices == null && categoryIds == null);
+    }
+
+    @Override
+    public CacheStatsDto getStats() {
+        return new CacheStatsDto()
+                .setName("book-search-plans")
+                .setSize(plans.size())
+                .setHits(hits.get())
+                .setMisses(misses.get());
+    }
+
+    private BookSearchPlan getPlan(BookSearchShape shape) {
+        BookSearchPlan plan = plans.get(shape);
+        if (plan != null) {
+            hits.incrementAndGet();
+            return plan;
+        }
+        misses.incrementAndGet();
+        return plans.computeIfAbsent(shape, this::createPlan);
+    }
+
+    private BookSearchPlan createPlan(BookSearchShape shape) {
+        List<String> conditions = new ArrayList<>();
+        if (shape.ids() > 0) {
+            conditions.add("b.id IN :ids");
+        }
+        if (shape.titles() > 0) {
+            conditions.add(matchAny("b.title", "title", shape.titles()));
+        }
+        if (shape.authors() > 0) {
+            conditions.add(matchAny("b.author", "author", shape.authors()));
+        }
+        if (shape.isbns() > 0) {
+            conditions.add("b.isbn IN :isbns");
+        }
+        if (shape.priceRange()) {
+            conditions.add("b.price BETWEEN :minPrice AND :maxPrice");
+        }
+        if (shape.subcategories()) {
+            conditions.add("b.id IN (SELECT cb.id FROM CategoryClosure cc "
+                    + "JOIN Category c ON c.id = cc.descendantId JOIN c.books cb "
+                    + "WHERE cc.ancestorId IN :categoryIds"
+                    + (shape.allCategories()
+                    ? " GROUP BY cb.id HAVING COUNT(DISTINCT cc.ancestorId) = :categoryCount)"
+                    : ")"));
+        } else if (shape.allCategories()) {
+            conditions.add("b.id IN (SELECT cb.id FROM Category c JOIN c.books cb "
+                    + "WHERE c.id IN :categoryIds "
+                    + "GROUP BY cb.id HAVING COUNT(DISTINCT c.id) = :categoryCount)");
+        } else if (shape.categoryIds() > 0) {
+            conditions.add("b.id IN (SELECT cb.id FROM Category c JOIN c.books cb "
+                    + "WHERE c.id IN :categoryIds)");
+        }
+        String idQuery = "SELECT b.id FROM Book b"
+                + (conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions));
+        return new BookSearchPlan(shape, idQuery);
+    }
+
+    private String matchAny(String path, String parameter, int count) {
+        List<String> matches = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            matches.add("FUNCTION('regexp_like', LOWER(" + path + "), :" + parameter + i
+                    + ") = 1");
+        }
+        return "(" + String.join(" OR ", matches) + ")";
+    }
+
+    private List<String> tokenPatterns(String[] phrases) {
+        if (nonEmpty(phrases) == null) {
+            return null;
+        }
+        return Arrays.stream(phrases)
+                .map(BookSearchIndex::toTokenPattern)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+    }
+
+    private void putAll(Map<String, Object> parameters, String parameter, List<String> values) {
+        for (int i = 0; i < values.size(); i++) {
+            parameters.put(parameter + i, values.get(i));
+        }
+    }
+
+    private String[] nonEmpty(String[] values) {
+        return values == null || values.length == 0 ? null : values;
+    }
+
+    private int bucket(int size) {
+        return size == 1 ? 1 : Integer.highestOneBit(size - 1) << 1;
+    }
+
+    private <T> List<T> pad(List<T> values, int size) {
+        List<T> padded = new ArrayList<>(size);
+        padded.addAll(values);
+        T last = values.get(values.size() - 1);
+        while (padded.size() < size) {
+            padded.add(last);
+        }
+        return padded;
+    }
+}
@@ -0,0 +1,4 @@
+package bookstore.repository.book.search;
+
+public record BookSearchPlan(BookSearchShape shape, String idQuery) {
+}
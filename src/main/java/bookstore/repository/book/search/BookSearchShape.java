@@ -0,0 +1,5 @@
+package bookstore.repository.book.search;
+
+public record BookSearchShape(int ids, int titles, int authors, int isbns, boolean priceRange,
+                              int categoryIds, boolean allCategories, boolean subcategories) {
+}
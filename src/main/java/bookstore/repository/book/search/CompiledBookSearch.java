@@ -0,0 +1,14 @@
+package bookstore.repository.book.search;
+
+import java.util.Map;
+
+public record CompiledBookSearch(BookSearchPlan plan, Map<String, Object> parameters,
+                                 long[] matchedIds, boolean indexOnly) {
+    public static CompiledBookSearch empty() {
+        return new CompiledBookSearch(null, Map.of(), new long[0], false);
+    }
+
+    public boolean isEmpty() {
+        return plan == null;
+    }
+}
@@ -0,0 +1,24 @@
+package bookstore.repository.book.spec;
+
+import bookstore.model.Book;
+import bookstore.repository.SpecificationProvider;
+import jakarta.persistence.criteria.Predicate;
+import java.util.Arrays;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+@Component
+public class AllCategoriesSpecificationProvider implements SpecificationProvider<Book> {
+    public Specification<Book> getSpecification(String[] params) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.and(Arrays.stream(params)
+                .distinct()
+                .map(id -> criteriaBuilder.equal(root.join("categories").get("id"),
+                        Long.valueOf(id)))
+                .toArray(Predicate[]::new));
+    }
+
+    @Override
+    public String getKey() {
+        return "allCategories";
+    }
+}
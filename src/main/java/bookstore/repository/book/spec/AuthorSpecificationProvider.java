@@ -2,15 +2,23 @@ package bookstore.repository.book.spec;
 
 import bookstore.model.Book;
 import bookstore.repository.SpecificationProvider;
+import bookstore.repository.book.index.BookSearchIndex;
+import jakarta.persistence.criteria.Predicate;
 import java.util.Arrays;
+import java.util.Objects;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Component;
 
 @Component
 public class AuthorSpecificationProvider implements SpecificationProvider<Book> {
     public Specification<Book> getSpecification(String[] params) {
-        return (root, query, criteriaBuilder) -> root.get("author")
-                .in(Arrays.stream(params).toArray());
+        return (root, query, criteriaBuilder) -> criteriaBuilder.or(Arrays.stream(params)
+                .map(BookSearchIndex::toTokenPattern)
+                .filter(Objects::nonNull)
+                .map(p -> criteriaBuilder.equal(criteriaBuilder.function("regexp_like",
+                        Integer.class, criteriaBuilder.lower(root.get("author")),
+                        criteriaBuilder.literal(p)), 1))
+                .toArray(Predicate[]::new));
     }
 
     @Override
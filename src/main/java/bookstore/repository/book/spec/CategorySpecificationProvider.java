@@ -2,6 +2,7 @@ package bookstore.repository.book.spec;
 
 import bookstore.model.Book;
 import bookstore.repository.SpecificationProvider;
+import jakarta.persistence.criteria.Subquery;
 import java.util.Arrays;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Component;
@@ -10,8 +11,11 @@ import org.springframework.stereotype.Component;
 public class CategorySpecificationProvider implements SpecificationProvider<Book> {
     public Specification<Book> getSpecification(String[] params) {
         return (root, query, criteriaBuilder) -> {
-            return root.get("categories").get("id")
-                    .in(Arrays.stream(params).toArray());
+            Subquery<Integer> categories = query.subquery(Integer.class);
+            categories.select(criteriaBuilder.literal(1))
+                    .where(categories.correlate(root).join("categories").get("id")
+                            .in(Arrays.stream(params).map(Long::valueOf).toArray()));
+            return criteriaBuilder.exists(categories);
         };
     }
 
@@ -0,0 +1,24 @@
+package bookstore.repository.book.spec;
+
+import bookstore.model.Book;
+import bookstore.repository.SpecificationProvider;
+import java.util.Arrays;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+@Component
+public class IdSpecificationProvider implements SpecificationProvider<Book> {
+    public Specification<Book> getSpecification(String[] params) {
+        return (root, query, criteriaBuilder) -> {
+            if (params.length == 0) {
+                return criteriaBuilder.disjunction();
+            }
+            return root.get("id").in(Arrays.stream(params).map(Long::valueOf).toArray());
+        };
+    }
+
+    @Override
+    public String getKey() {
+        return "id";
+    }
+}
@@ -0,0 +1,33 @@
+package bookstore.repository.book.spec;
+
+import bookstore.model.Book;
+import bookstore.model.Category;
+import bookstore.model.CategoryClosure;
+import bookstore.repository.SpecificationProvider;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import java.util.Arrays;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+@Component
+public class SubcategorySpecificationProvider implements SpecificationProvider<Book> {
+    public Specification<Book> getSpecification(String[] params) {
+        return (root, query, criteriaBuilder) -> {
+            Subquery<Integer> subcategories = query.subquery(Integer.class);
+            Join<Book, Category> category = subcategories.correlate(root).join("categories");
+            Root<CategoryClosure> closure = subcategories.from(CategoryClosure.class);
+            subcategories.select(criteriaBuilder.literal(1))
+                    .where(criteriaBuilder.equal(closure.get("descendantId"), category.get("id")),
+                            closure.get("ancestorId")
+                                    .in(Arrays.stream(params).map(Long::valueOf).toArray()));
+            return criteriaBuilder.exists(subcategories);
+        };
+    }
+
+    @Override
+    public String getKey() {
+        return "subcategory";
+    }
+}
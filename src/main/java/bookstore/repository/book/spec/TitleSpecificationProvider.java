@@ -2,15 +2,23 @@ package bookstore.repository.book.spec;
 
 import bookstore.model.Book;
 import bookstore.repository.SpecificationProvider;
+import bookstore.repository.book.index.BookSearchIndex;
+import jakarta.persistence.criteria.Predicate;
+import java.util.Arrays;
+import java.util.Objects;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Component;
 
 @Component
 public class TitleSpecificationProvider implements SpecificationProvider<Book> {
     public Specification<Book> getSpecification(String[] params) {
-        return (root, query, criteriaBuilder) -> {
-            return criteriaBuilder.like(root.get("title"), "%" + String.join(",", params) + "%");
-        };
+        return (root, query, criteriaBuilder) -> criteriaBuilder.or(Arrays.stream(params)
+                .map(BookSearchIndex::toTokenPattern)
+                .filter(Objects::nonNull)
+                .map(p -> criteriaBuilder.equal(criteriaBuilder.function("regexp_like",
+                        Integer.class, criteriaBuilder.lower(root.get("title")),
+                        criteriaBuilder.literal(p)), 1))
+                .toArray(Predicate[]::new));
     }
 
     @Override
@@ -0,0 +1,9 @@
+package bookstore.repository.catalog;
+
+import bookstore.dto.catalog.CatalogChangeOperation;
+import bookstore.dto.catalog.CatalogEntityType;
+import java.time.LocalDateTime;
+
+public record CatalogChange(long version, CatalogEntityType entityType, Long entityId,
+                            CatalogChangeOperation operation, LocalDateTime changedAt) {
+}
@@ -0,0 +1,86 @@
+package bookstore.repository.catalog;
+
+import bookstore.dto.catalog.CatalogChangeOperation;
+import bookstore.dto.catalog.CatalogEntityType;
+import jakarta.transaction.Transactional;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@RequiredArgsConstructor
+@Repository
+public class CatalogChangeRepository {
+    private static final int MAX_ROWS = 5000;
+    private static final int COLUMNS = 5;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void record(CatalogEntityType entityType, CatalogChangeOperation operation,
+                       Collection<Long> entityIds) {
+        if (entityIds.isEmpty()) {
+            return;
+        }
+        Timestamp changedAt = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update("UPDATE catalog_change_sequences "
+                + "SET last_version = LAST_INSERT_ID(last_version + ?), last_changed_at = ? "
+                + "WHERE id = 1", entityIds.size(), changedAt);
+        Long lastVersion = jdbcTemplate.queryForObject("SELECT LAST_INSERT_ID()", Long.class);
+        long version = lastVersion - entityIds.size();
+        List<Object> rows = new ArrayList<>(entityIds.size() * COLUMNS);
+        for (Long entityId : entityIds) {
+            rows.add(++version);
+            rows.add(entityType.name());
+            rows.add(entityId);
+            rows.add(operation.name());
+            rows.add(changedAt);
+        }
+        for (int from = 0; from < rows.size(); from += MAX_ROWS * COLUMNS) {
+            List<Object> chunk =
+                    rows.subList(from, Math.min(rows.size(), from + MAX_ROWS * COLUMNS));
+            jdbcTemplate.update("INSERT INTO catalog_changes "
+                    + "(version, entity_type, entity_id, operation, changed_at) VALUES "
+                    + placeholders(chunk.size() / COLUMNS), chunk.toArray());
+        }
+    }
+
+    public List<CatalogChange> findSince(long since, int limit) {
+        return jdbcTemplate.query("SELECT version, entity_type, entity_id, operation, changed_at "
+                + "FROM catalog_changes WHERE version > ? ORDER BY version LIMIT ?",
+                (rs, rowNum) -> new CatalogChange(rs.getLong(1),
+                        CatalogEntityType.valueOf(rs.getString(2)), rs.getLong(3),
+                        CatalogChangeOperation.valueOf(rs.getString(4)),
+                        rs.getTimestamp(5).toLocalDateTime()),
+                since, limit);
+    }
+
+    public long findFirstVersion() {
+        Long version = jdbcTemplate.queryForObject(
+                "SELECT MIN(version) FROM catalog_changes", Long.class);
+        return version == null ? 0 : version;
+    }
+
+    public long findLastVersion() {
+        Long version = jdbcTemplate.queryForObject(
+                "SELECT last_version FROM catalog_change_sequences WHERE id = 1", Long.class);
+        return version == null ? 0 : version;
+    }
+
+    @Transactional
+    public int deleteSuperseded(long fromVersion, long toVersion) {
+        return jdbcTemplate.update("DELETE c FROM catalog_changes c "
+                + "JOIN catalog_changes newer ON newer.entity_type = c.entity_type "
+                + "AND newer.entity_id = c.entity_id AND newer.version > c.version "
+                + "WHERE c.version >= ? AND c.version < ?", fromVersion, toVersion);
+    }
+
+    private String placeholders(int rows) {
+        String row = "(" + "?, ".repeat(COLUMNS - 1) + "?)";
+        return String.join(", ", Collections.nCopies(rows, row));
+    }
+}
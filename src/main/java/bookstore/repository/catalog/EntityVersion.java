@@ -0,0 +1,6 @@
+package bookstore.repository.catalog;
+
+import java.time.Instant;
+
+public record EntityVersion(long version, Instant modifiedAt) {
+}
@@ -0,0 +1,48 @@
+package bookstore.repository.catalog;
+
+import bookstore.dto.catalog.CatalogEntityType;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@RequiredArgsConstructor
+@Repository
+public class EntityVersionRepository {
+    private final JdbcTemplate jdbcTemplate;
+
+    public EntityVersion findCatalogVersion() {
+        return jdbcTemplate.queryForObject("SELECT last_version, last_changed_at "
+                + "FROM catalog_change_sequences WHERE id = 1", this::toEntityVersion);
+    }
+
+    public Optional<EntityVersion> findBookVersion(Long id) {
+        return jdbcTemplate.query("SELECT version, updated_at FROM books "
+                + "WHERE id = ? AND is_deleted = FALSE", this::toEntityVersion, id)
+                .stream()
+                .findFirst();
+    }
+
+    public Optional<EntityVersion> findCategoryVersion(Long id) {
+        return jdbcTemplate.query("SELECT version, updated_at FROM categories "
+                + "WHERE id = ? AND is_deleted = FALSE", this::toEntityVersion, id)
+                .stream()
+                .findFirst();
+    }
+
+    public EntityVersion findCategoryStructureVersion() {
+        return jdbcTemplate.queryForObject("SELECT (SELECT COUNT(*) FROM categories) "
+                + "+ COALESCE(MAX(version), 0), MAX(changed_at) FROM catalog_changes "
+                + "WHERE entity_type = ?", this::toEntityVersion,
+                CatalogEntityType.CATEGORY.name());
+    }
+
+    private EntityVersion toEntityVersion(ResultSet rs, int rowNum) throws SQLException {
+        Timestamp modifiedAt = rs.getTimestamp(2);
+        return new EntityVersion(rs.getLong(1),
+                modifiedAt == null ? null : modifiedAt.toInstant());
+    }
+}
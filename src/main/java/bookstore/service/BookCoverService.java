@@ -0,0 +1,13 @@
+package bookstore.service;
+
+import bookstore.dto.book.BookDto;
+import bookstore.service.cover.CoverImage;
+import java.io.IOException;
+import java.io.InputStream;
+import org.springframework.http.MediaType;
+
+public interface BookCoverService {
+    BookDto uploadCover(Long bookId, MediaType mediaType, InputStream content) throws IOException;
+
+    CoverImage getCover(Long bookId, Integer width) throws IOException;
+}
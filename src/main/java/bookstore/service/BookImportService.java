@@ -0,0 +1,11 @@
+package bookstore.service;
+
+import bookstore.dto.book.BookImportFormat;
+import bookstore.dto.book.BookImportResultDto;
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface BookImportService {
+    BookImportResultDto importBooks(InputStream inputStream, BookImportFormat format)
+            throws IOException;
+}
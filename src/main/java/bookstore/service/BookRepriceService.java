@@ -0,0 +1,10 @@
+package bookstore.service;
+
+import bookstore.dto.book.BookRepriceJobDto;
+import bookstore.dto.book.BookRepriceRequestDto;
+
+public interface BookRepriceService {
+    BookRepriceJobDto start(BookRepriceRequestDto requestDto);
+
+    BookRepriceJobDto getJob(String id);
+}
@@ -3,7 +3,13 @@ package bookstore.service;
 import bookstore.dto.book.BookDto;
 import bookstore.dto.book.BookDtoWithoutCategoryIds;
 import bookstore.dto.book.BookSearchParametersDto;
+import bookstore.dto.book.BookSearchResultDto;
+import bookstore.dto.book.BookSuggestionDto;
 import bookstore.dto.book.CreateBookRequestDto;
+import bookstore.dto.book.PatchBookRequestDto;
+import bookstore.dto.page.CursorPageDto;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import org.springframework.data.domain.Pageable;
 
@@ -12,13 +18,35 @@ public interface BookService {
 
     List<BookDto> findAll(Pageable pageable);
 
+    CursorPageDto<BookDto> findAll(String cursor, Pageable pageable);
+
     BookDto findById(Long id);
 
     void deleteById(Long id);
 
     BookDto update(Long id, CreateBookRequestDto requestDto);
 
+    BookDto patch(Long id, PatchBookRequestDto requestDto);
+
+    BookDto updateCoverImage(Long id, String coverImage);
+
     List<BookDto> search(BookSearchParametersDto params, Pageable pageable);
 
-    List<BookDtoWithoutCategoryIds> findByCategoryId(Long categoryId);
+    CursorPageDto<BookDto> search(BookSearchParametersDto params, String cursor,
+                                  Pageable pageable);
+
+    BookSearchResultDto searchWithFacets(BookSearchParametersDto params, Pageable pageable);
+
+    List<BookSuggestionDto> suggest(String prefix, int limit);
+
+    void export(OutputStream outputStream) throws IOException;
+
+    void writeJson(BookDto book, OutputStream outputStream) throws IOException;
+
+    void writeJson(List<BookDto> books, OutputStream outputStream) throws IOException;
+
+    List<BookDtoWithoutCategoryIds> findByCategoryId(Long categoryId, Pageable pageable);
+
+    CursorPageDto<BookDtoWithoutCategoryIds> findByCategoryId(Long categoryId, String cursor,
+                                                              Pageable pageable);
 }
@@ -0,0 +1,7 @@
+package bookstore.service;
+
+import bookstore.dto.cache.CacheStatsDto;
+
+public interface CacheStatsProvider {
+    CacheStatsDto getStats();
+}
@@ -0,0 +1,8 @@
+package bookstore.service;
+
+import bookstore.dto.cache.CacheStatsDto;
+import java.util.List;
+
+public interface CacheStatsService {
+    List<CacheStatsDto> findAll();
+}
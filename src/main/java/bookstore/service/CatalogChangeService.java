@@ -0,0 +1,9 @@
+package bookstore.service;
+
+import bookstore.dto.catalog.CatalogChangesDto;
+
+public interface CatalogChangeService {
+    CatalogChangesDto getChanges(long since, int limit);
+
+    void compact();
+}
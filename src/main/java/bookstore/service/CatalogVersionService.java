@@ -0,0 +1,12 @@
+package bookstore.service;
+
+import bookstore.dto.catalog.CatalogVersionDto;
+import java.util.Optional;
+
+public interface CatalogVersionService {
+    CatalogVersionDto getCatalogVersion();
+
+    Optional<CatalogVersionDto> findBookVersion(Long id);
+
+    Optional<CatalogVersionDto> findCategoryVersion(Long id);
+}
@@ -1,5 +1,6 @@
 package bookstore.service;
 
+import bookstore.dto.bulk.BulkUpdateResultDto;
 import bookstore.dto.category.CategoryDto;
 import java.util.List;
 import org.springframework.data.domain.Pageable;
@@ -11,7 +12,15 @@ public interface CategoryService {
 
     List<CategoryDto> findAll(Pageable pageable);
 
+    List<CategoryDto> findByName(String name);
+
     CategoryDto update(Long id, CategoryDto requestDto);
 
     void deleteById(Long id);
+
+    BulkUpdateResultDto assignBooks(Long id, List<Long> bookIds);
+
+    BulkUpdateResultDto unassignBooks(Long id, List<Long> bookIds);
+
+    void reconcileBookCounts();
 }
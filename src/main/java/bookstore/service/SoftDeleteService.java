@@ -0,0 +1,15 @@
+package bookstore.service;
+
+import bookstore.dto.book.BookBulkRequestDto;
+import bookstore.dto.bulk.BulkUpdateResultDto;
+import java.util.List;
+
+public interface SoftDeleteService {
+    BulkUpdateResultDto deleteBooks(BookBulkRequestDto requestDto);
+
+    BulkUpdateResultDto restoreBooks(BookBulkRequestDto requestDto);
+
+    BulkUpdateResultDto deleteCategories(List<Long> ids);
+
+    BulkUpdateResultDto restoreCategories(List<Long> ids);
+}
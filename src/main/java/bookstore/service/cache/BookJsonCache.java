@@ -0,0 +1,110 @@
+package bookstore.service.cache;
+
+import bookstore.dto.book.BookDto;
+import bookstore.dto.cache.CacheStatsDto;
+import bookstore.repository.book.index.BookIndexChangedEvent;
+import bookstore.repository.book.index.BookIndexEntry;
+import bookstore.service.CacheStatsProvider;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+@RequiredArgsConstructor
+@Component
+public class BookJsonCache implements CacheStatsProvider {
+    private final ObjectMapper objectMapper;
+    private final Map<Long, CachedJson> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long weight;
+    private long hits;
+    private long misses;
+    private long evictions;
+    @Value("${bookstore.json-cache.max-bytes:33554432}")
+    private long maxBytes;
+
+    public void write(BookDto book, OutputStream outputStream) throws IOException {
+        outputStream.write(get(book));
+    }
+
+    public void write(List<BookDto> books, OutputStream outputStream) throws IOException {
+        outputStream.write('[');
+        for (int i = 0; i < books.size(); i++) {
+            if (i > 0) {
+                outputStream.write(',');
+            }
+            outputStream.write(get(books.get(i)));
+        }
+        outputStream.write(']');
+    }
+
+    @EventListener
+    public synchronized void onBookIndexChanged(BookIndexChangedEvent event) {
+        if (event.fullRebuild()) {
+            entries.clear();
+            weight = 0;
+            return;
+        }
+        event.previous().forEach(this::remove);
+        event.current().forEach(this::remove);
+    }
+
+    @Override
+    public synchronized CacheStatsDto getStats() {
+        return new CacheStatsDto()
+                .setName("book-json")
+                .setSize(entries.size())
+                .setHits(hits)
+                .setMisses(misses)
+                .setEvictions(evictions);
+    }
+
+    private byte[] get(BookDto book) throws IOException {
+        if (book.getId() == null || book.getVersion() == null) {
+            return objectMapper.writeValueAsBytes(book);
+        }
+        synchronized (this) {
+            CachedJson cached = entries.get(book.getId());
+            if (cached != null && cached.version() == book.getVersion()) {
+                hits++;
+                return cached.json();
+            }
+            misses++;
+        }
+        byte[] json = objectMapper.writeValueAsBytes(book);
+        synchronized (this) {
+            CachedJson cached = entries.get(book.getId());
+            if (cached == null || cached.version() < book.getVersion()) {
+                put(book.getId(), new CachedJson(book.getVersion(), json));
+            }
+        }
+        return json;
+    }
+
+    private void put(Long id, CachedJson cachedJson) {
+        CachedJson replaced = entries.put(id, cachedJson);
+        weight += cachedJson.json().length - (replaced == null ? 0 : replaced.json().length);
+        Iterator<CachedJson> eldest = entries.values().iterator();
+        while (weight > maxBytes && eldest.hasNext()) {
+            weight -= eldest.next().json().length;
+            eldest.remove();
+            evictions++;
+        }
+    }
+
+    private void remove(BookIndexEntry entry) {
+        CachedJson removed = entries.remove(entry.id());
+        if (removed != null) {
+            weight -= removed.json().length;
+        }
+    }
+
+    private record CachedJson(long version, byte[] json) {
+    }
+}
@@ -0,0 +1,129 @@
+package bookstore.service.cache;
+
+import bookstore.dto.book.BookDto;
+import bookstore.dto.book.BookSearchParametersDto;
+import bookstore.dto.cache.CacheStatsDto;
+import bookstore.repository.CategoryTreeChangedEvent;
+import bookstore.repository.book.index.BookIndexChangedEvent;
+import bookstore.repository.book.index.BookIndexEntry;
+import bookstore.repository.book.index.BookSearchIndex;
+import bookstore.service.CacheStatsProvider;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+@RequiredArgsConstructor
+@Component
+public class BookSearchCache implements CacheStatsProvider {
+    private final BookSearchIndex bookSearchIndex;
+    private final Map<SearchCacheKey, CachedResult> results =
+            new LinkedHashMap<>(16, 0.75f, true);
+    private long weight;
+    private long generation;
+    private long hits;
+    private long misses;
+    private long evictions;
+    @Value("${bookstore.search.cache.max-weight:50000}")
+    private long maxWeight;
+
+    public List<BookDto> get(BookSearchParametersDto params, Pageable pageable,
+                             Supplier<List<BookDto>> loader) {
+        SearchCacheKey key = SearchCacheKey.of(params, pageable);
+        long loadGeneration;
+        synchronized (this) {
+            CachedResult cached = results.get(key);
+            if (cached != null) {
+                hits++;
+                return cached.books();
+            }
+            misses++;
+            loadGeneration = generation;
+        }
+        List<BookDto> books = loader.get();
+        synchronized (this) {
+            if (loadGeneration == generation) {
+                put(key, new CachedResult(params, books, bookIds(books),
+                        Math.max(1, books.size())));
+            }
+        }
+        return books;
+    }
+
+    @EventListener
+    public synchronized void onBookIndexChanged(BookIndexChangedEvent event) {
+        generation++;
+        if (event.fullRebuild()) {
+            results.clear();
+            weight = 0;
+            return;
+        }
+        Iterator<CachedResult> iterator = results.values().iterator();
+        while (iterator.hasNext()) {
+            CachedResult cached = iterator.next();
+            if (cached.params() == null
+                    || event.previous().stream().anyMatch(e -> affects(cached, e))
+                    || event.current().stream().anyMatch(e -> affects(cached, e))) {
+                weight -= cached.weight();
+                iterator.remove();
+            }
+        }
+    }
+
+    @EventListener
+    public synchronized void onCategoryTreeChanged(CategoryTreeChangedEvent event) {
+        generation++;
+        Iterator<CachedResult> iterator = results.values().iterator();
+        while (iterator.hasNext()) {
+            CachedResult cached = iterator.next();
+            if (cached.params() != null && cached.params().matchSubcategories()) {
+                weight -= cached.weight();
+                iterator.remove();
+            }
+        }
+    }
+
+    @Override
+    public synchronized CacheStatsDto getStats() {
+        return new CacheStatsDto()
+                .setName("book-search-results")
+                .setSize(results.size())
+                .setHits(hits)
+                .setMisses(misses)
+                .setEvictions(evictions);
+    }
+
+    private boolean affects(CachedResult cached, BookIndexEntry entry) {
+        return cached.bookIds().contains(entry.id())
+                || bookSearchIndex.matches(cached.params(), entry);
+    }
+
+    private Set<Long> bookIds(List<BookDto> books) {
+        return books.stream()
+                .map(BookDto::getId)
+                .collect(Collectors.toSet());
+    }
+
+    private void put(SearchCacheKey key, CachedResult result) {
+        CachedResult replaced = results.put(key, result);
+        weight += result.weight() - (replaced == null ? 0 : replaced.weight());
+        Iterator<CachedResult> eldest = results.values().iterator();
+        while (weight > maxWeight && eldest.hasNext()) {
+            weight -= eldest.next().weight();
+            eldest.remove();
+            evictions++;
+        }
+    }
+
+    private record CachedResult(BookSearchParametersDto params, List<BookDto> books,
+                                Set<Long> bookIds, long weight) {
+    }
+}
@@ -0,0 +1,250 @@
+package bookstore.service.cache;
+
+import bookstore.dto.cache.CacheStatsDto;
+import bookstore.dto.category.CategoryDto;
+import bookstore.mapper.CategoryMapper;
+import bookstore.model.Category;
+import bookstore.repository.CategoryBookCountRepository;
+import bookstore.repository.CategoryRepository;
+import bookstore.repository.catalog.EntityVersionRepository;
+import bookstore.service.CacheStatsProvider;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@RequiredArgsConstructor
+@Component
+public class CategorySnapshot implements CacheStatsProvider {
+    private static final String ID = "id";
+    private static final String NAME = "name";
+    private final CategoryRepository categoryRepository;
+    private final CategoryMapper categoryMapper;
+    private final EntityVersionRepository entityVersionRepository;
+    private final CategoryBookCountRepository categoryBookCountRepository;
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong reloads = new AtomicLong();
+    @Value("${bookstore.category-snapshot.enabled:true}")
+    private boolean enabled;
+
+    public Optional<CategoryDto> findById(Long id) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        CategoryDto category = getSnapshot().byId().get(id);
+        (category == null ? misses : hits).incrementAndGet();
+        return Optional.ofNullable(category).map(CategorySnapshot::copy);
+    }
+
+    public Optional<List<CategoryDto>> findByName(String name) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        hits.incrementAndGet();
+        return Optional.of(getSnapshot().byName()
+                .getOrDefault(name.toLowerCase(Locale.ROOT), List.of()).stream()
+                .map(CategorySnapshot::copy)
+                .toList());
+    }
+
+    public Optional<List<CategoryDto>> findAll(Pageable pageable) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        List<CategoryDto> ordered = ordered(getSnapshot(), pageable.getSort());
+        if (ordered == null) {
+            misses.incrementAndGet();
+            return Optional.empty();
+        }
+        hits.incrementAndGet();
+        if (pageable.isUnpaged()) {
+            return Optional.of(copies(ordered));
+        }
+        int from = (int) Math.min(pageable.getOffset(), ordered.size());
+        int to = Math.min(ordered.size(), from + pageable.getPageSize());
+        Sort.Order order = pageable.getSort().stream().findFirst().orElse(null);
+        if (order == null || order.isAscending()) {
+            return Optional.of(copies(ordered.subList(from, to)));
+        }
+        List<CategoryDto> page = new ArrayList<>(to - from);
+        for (int i = ordered.size() - 1 - from; i >= ordered.size() - to; i--) {
+            page.add(copy(ordered.get(i)));
+        }
+        return Optional.of(page);
+    }
+
+    public void put(Long id, CategoryDto category) {
+        afterCommit(() -> snapshot.updateAndGet(current -> {
+            if (current == null) {
+                return null;
+            }
+            Map<Long, CategoryDto> byId = new HashMap<>(current.byId());
+            byId.put(id, copy(category));
+            return Snapshot.of(current.version(), byId);
+        }));
+    }
+
+    public void remove(Long id) {
+        afterCommit(() -> snapshot.updateAndGet(current -> {
+            if (current == null || !current.byId().containsKey(id)) {
+                return current;
+            }
+            Map<Long, CategoryDto> byId = new HashMap<>(current.byId());
+            byId.remove(id);
+            return Snapshot.of(current.version(), byId);
+        }));
+    }
+
+    public void refreshCounts(Collection<Long> ids) {
+        List<Long> categoryIds = List.copyOf(ids);
+        afterCommit(() -> applyCounts(
+                () -> categoryBookCountRepository.findBookCounts(categoryIds)));
+    }
+
+    public void refreshCounts() {
+        afterCommit(() -> applyCounts(categoryBookCountRepository::findBookCounts));
+    }
+
+    @Scheduled(fixedDelayString = "${bookstore.category-snapshot.check-interval:PT5S}",
+            initialDelayString = "${bookstore.category-snapshot.check-interval:PT5S}")
+    public void checkVersion() {
+        Snapshot current = snapshot.get();
+        if (current != null && current.version()
+                != entityVersionRepository.findCategoryStructureVersion().version()) {
+            snapshot.set(load());
+        }
+    }
+
+    @Override
+    public CacheStatsDto getStats() {
+        Snapshot current = snapshot.get();
+        return new CacheStatsDto()
+                .setName("category-snapshot")
+                .setSize(current == null ? 0 : current.byId().size())
+                .setHits(hits.get())
+                .setMisses(misses.get())
+                .setEvictions(reloads.get());
+    }
+
+    private synchronized void applyCounts(Supplier<Map<Long, Long>> counts) {
+        if (snapshot.get() == null) {
+            return;
+        }
+        Map<Long, Long> bookCounts = counts.get();
+        snapshot.updateAndGet(current -> {
+            if (current == null) {
+                return null;
+            }
+            Map<Long, CategoryDto> byId = new HashMap<>(current.byId());
+            bookCounts.forEach((id, count) -> byId.computeIfPresent(id, (key, category) ->
+                    count.equals(category.getBookCount())
+                            ? category : copy(category).setBookCount(count)));
+            return Snapshot.of(current.version(), byId);
+        });
+    }
+
+    private List<CategoryDto> ordered(Snapshot current, Sort sort) {
+        List<Sort.Order> orders = sort.toList();
+        if (orders.isEmpty()) {
+            return current.orderedById();
+        }
+        if (orders.size() > 1) {
+            return null;
+        }
+        return switch (orders.get(0).getProperty()) {
+            case ID -> current.orderedById();
+            case NAME -> current.orderedByName();
+            default -> null;
+        };
+    }
+
+    private Snapshot getSnapshot() {
+        Snapshot current = snapshot.get();
+        if (current == null) {
+            synchronized (this) {
+                current = snapshot.get();
+                if (current == null) {
+                    current = load();
+                    snapshot.set(current);
+                }
+            }
+        }
+        return current;
+    }
+
+    private Snapshot load() {
+        reloads.incrementAndGet();
+        long version = entityVersionRepository.findCategoryStructureVersion().version();
+        Map<Long, CategoryDto> byId = new HashMap<>();
+        for (Category category : categoryRepository.findAll()) {
+            byId.put(category.getId(), categoryMapper.toDto(category));
+        }
+        return Snapshot.of(version, byId);
+    }
+
+    private static List<CategoryDto> copies(List<CategoryDto> categories) {
+        return categories.stream()
+                .map(CategorySnapshot::copy)
+                .toList();
+    }
+
+    private static CategoryDto copy(CategoryDto category) {
+        return new CategoryDto()
+                .setName(category.getName())
+                .setDescription(category.getDescription())
+                .setParentId(category.getParentId())
+                .setBookCount(category.getBookCount());
+    }
+
+    private void afterCommit(Runnable swap) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            swap.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                swap.run();
+            }
+        });
+    }
+
+    private record Snapshot(long version, Map<Long, CategoryDto> byId,
+                            Map<String, List<CategoryDto>> byName,
+                            List<CategoryDto> orderedById, List<CategoryDto> orderedByName) {
+        private static Snapshot of(long version, Map<Long, CategoryDto> byId) {
+            List<CategoryDto> orderedById = byId.keySet().stream()
+                    .sorted()
+                    .map(byId::get)
+                    .toList();
+            return new Snapshot(version, Map.copyOf(byId),
+                    orderedById.stream()
+                            .collect(Collectors.groupingBy(
+                                    category -> category.getName().toLowerCase(Locale.ROOT),
+                                    Collectors.toUnmodifiableList())),
+                    orderedById,
+                    orderedById.stream()
+                            .sorted(Comparator.comparing(CategoryDto::getName,
+                                    String.CASE_INSENSITIVE_ORDER))
+                            .toList());
+        }
+    }
+}
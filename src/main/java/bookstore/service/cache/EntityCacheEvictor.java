@@ -0,0 +1,80 @@
+package bookstore.service.cache;
+
+import bookstore.model.Book;
+import bookstore.model.Category;
+import bookstore.repository.CategoryRepository;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@RequiredArgsConstructor
+@Component
+public class EntityCacheEvictor {
+    private static final String BOOK_CATEGORIES = Book.class.getName() + ".categories";
+    private final EntityManagerFactory entityManagerFactory;
+    private final CategorySnapshot categorySnapshot;
+
+    public void evictBooks(Collection<Long> ids) {
+        List<Long> bookIds = List.copyOf(ids);
+        afterCommit(cache -> {
+            for (Long id : bookIds) {
+                cache.evictEntityData(Book.class, id);
+                cache.evictCollectionData(BOOK_CATEGORIES, id);
+            }
+        });
+    }
+
+    public void evictCategories(Collection<Long> ids) {
+        List<Long> categoryIds = List.copyOf(ids);
+        afterCommit(cache -> {
+            for (Long id : categoryIds) {
+                cache.evictEntityData(Category.class, id);
+            }
+            cache.evictCollectionData(BOOK_CATEGORIES);
+            cache.evictQueryRegion(CategoryRepository.QUERY_CACHE_REGION);
+        });
+    }
+
+    public void evictCategoryCounts(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        List<Long> categoryIds = List.copyOf(ids);
+        afterCommit(cache -> {
+            for (Long id : categoryIds) {
+                cache.evictEntityData(Category.class, id);
+            }
+            cache.evictQueryRegion(CategoryRepository.QUERY_CACHE_REGION);
+        });
+        categorySnapshot.refreshCounts(categoryIds);
+    }
+
+    public void evictCategoryCounts() {
+        afterCommit(cache -> {
+            cache.evictEntityData(Category.class);
+            cache.evictQueryRegion(CategoryRepository.QUERY_CACHE_REGION);
+        });
+        categorySnapshot.refreshCounts();
+    }
+
+    private void afterCommit(Consumer<Cache> eviction) {
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            eviction.accept(cache);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                eviction.accept(cache);
+            }
+        });
+    }
+}
@@ -0,0 +1,34 @@
+package bookstore.service.cache;
+
+import bookstore.dto.book.BookSearchParametersDto;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import org.springframework.data.domain.Pageable;
+
+public record SearchCacheKey(List<String> authors, List<String> titles, List<String> isbns,
+                             List<String> prices, List<String> categories,
+                             boolean allCategories, boolean subcategories,
+                             Pageable pageable) {
+    public static SearchCacheKey of(BookSearchParametersDto params, Pageable pageable) {
+        if (params == null) {
+            return new SearchCacheKey(null, null, null, null, null, false, false, pageable);
+        }
+        return new SearchCacheKey(normalize(params.authors()), normalize(params.titles()),
+                normalize(params.isbns()),
+                params.prices() == null ? null : List.of(params.prices()),
+                normalize(params.categories()), params.matchAllCategories(),
+                params.matchSubcategories(), pageable);
+    }
+
+    private static List<String> normalize(String[] values) {
+        if (values == null || values.length == 0) {
+            return null;
+        }
+        return Arrays.stream(values)
+                .map(v -> v.trim().toLowerCase(Locale.ROOT))
+                .distinct()
+                .sorted()
+                .toList();
+    }
+}
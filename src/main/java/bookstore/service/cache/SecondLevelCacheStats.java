@@ -0,0 +1,40 @@
+package bookstore.service.cache;
+
+import bookstore.dto.cache.CacheStatsDto;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+@RequiredArgsConstructor
+@Component
+public class SecondLevelCacheStats {
+    private static final String PREFIX = "hibernate:";
+    private final EntityManagerFactory entityManagerFactory;
+
+    public List<CacheStatsDto> getStats() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        if (!statistics.isStatisticsEnabled()) {
+            return List.of();
+        }
+        return Arrays.stream(statistics.getSecondLevelCacheRegionNames())
+                .sorted()
+                .map(statistics::getCacheRegionStatistics)
+                .filter(Objects::nonNull)
+                .map(this::toDto)
+                .toList();
+    }
+
+    private CacheStatsDto toDto(CacheRegionStatistics region) {
+        return new CacheStatsDto()
+                .setName(PREFIX + region.getRegionName())
+                .setSize(Math.max(0, region.getElementCountInMemory()))
+                .setHits(region.getHitCount())
+                .setMisses(region.getMissCount());
+    }
+}
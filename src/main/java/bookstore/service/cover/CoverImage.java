@@ -0,0 +1,8 @@
+package bookstore.service.cover;
+
+import java.nio.file.Path;
+import org.springframework.http.MediaType;
+
+public record CoverImage(String name, Path path, String etag, MediaType mediaType, long length,
+                         boolean fallback) {
+}
@@ -0,0 +1,40 @@
+package bookstore.service.cover;
+
+import java.util.Arrays;
+import java.util.Optional;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+
+@Getter
+@RequiredArgsConstructor
+public enum CoverImageFormat {
+    JPEG("jpg", "jpeg", MediaType.IMAGE_JPEG, new byte[]{(byte) 0xFF, (byte) 0xD8, (byte) 0xFF}),
+    PNG("png", "png", MediaType.IMAGE_PNG, new byte[]{(byte) 0x89, 'P', 'N', 'G'}),
+    GIF("gif", "gif", MediaType.IMAGE_GIF, new byte[]{'G', 'I', 'F', '8'}),
+    WEBP("webp", null, MediaType.parseMediaType("image/webp"), new byte[]{'R', 'I', 'F', 'F'});
+
+    private final String extension;
+    private final String imageIoName;
+    private final MediaType mediaType;
+    @Getter(AccessLevel.NONE)
+    private final byte[] signature;
+
+    public boolean matches(byte[] header) {
+        return header.length >= signature.length
+                && Arrays.equals(header, 0, signature.length, signature, 0, signature.length);
+    }
+
+    public static Optional<CoverImageFormat> fromMediaType(MediaType mediaType) {
+        return Arrays.stream(values())
+                .filter(format -> format.mediaType.equalsTypeAndSubtype(mediaType))
+                .findFirst();
+    }
+
+    public static Optional<CoverImageFormat> fromExtension(String extension) {
+        return Arrays.stream(values())
+                .filter(format -> format.extension.equals(extension))
+                .findFirst();
+    }
+}
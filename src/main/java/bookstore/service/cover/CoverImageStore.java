@@ -0,0 +1,133 @@
+package bookstore.service.cover;
+
+import bookstore.exception.InvalidCoverImageException;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.imageio.ImageIO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class CoverImageStore {
+    private static final Pattern STORED_NAME = Pattern.compile("([0-9a-f]{64})\\.([a-z]+)");
+    private static final int BUFFER_SIZE = 8192;
+    @Value("${bookstore.covers.dir:covers}")
+    private String directory;
+    @Value("${bookstore.covers.max-size:5242880}")
+    private long maxSize;
+
+    public String store(InputStream content, CoverImageFormat format) throws IOException {
+        Path root = Files.createDirectories(Path.of(directory));
+        Path temp = Files.createTempFile(root, "upload-", ".tmp");
+        try {
+            MessageDigest digest = sha256();
+            try (OutputStream out = new DigestOutputStream(Files.newOutputStream(temp), digest)) {
+                byte[] buffer = new byte[BUFFER_SIZE];
+                long copied = 0;
+                int read;
+                while ((read = content.read(buffer)) != -1) {
+                    copied += read;
+                    if (copied > maxSize) {
+                        throw new InvalidCoverImageException(
+                                "Cover image is larger than " + maxSize + " bytes");
+                    }
+                    out.write(buffer, 0, read);
+                }
+            }
+            String name = HexFormat.of().formatHex(digest.digest()) + '.' + format.getExtension();
+            Path target = root.resolve(name);
+            if (!Files.exists(target)) {
+                try {
+                    Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+                } catch (FileAlreadyExistsException expected) {
+                }
+            }
+            return name;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    public void storeThumbnail(String name, int width, BufferedImage image) throws IOException {
+        Matcher matcher = match(name).orElseThrow();
+        CoverImageFormat format = CoverImageFormat.fromExtension(matcher.group(2)).orElseThrow();
+        Path root = Path.of(directory);
+        Path temp = Files.createTempFile(root, "thumbnail-", ".tmp");
+        try {
+            if (ImageIO.write(image, format.getImageIoName(), temp.toFile())) {
+                Files.move(temp, root.resolve(thumbnailName(matcher, width)),
+                        StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    public Optional<CoverImage> find(String name, Integer width) throws IOException {
+        Optional<Matcher> matcher = match(name);
+        if (matcher.isEmpty()) {
+            return Optional.empty();
+        }
+        CoverImageFormat format = CoverImageFormat.fromExtension(matcher.get().group(2))
+                .orElse(null);
+        if (format == null) {
+            return Optional.empty();
+        }
+        Path root = Path.of(directory);
+        if (width != null) {
+            Path thumbnail = root.resolve(thumbnailName(matcher.get(), width));
+            if (Files.isRegularFile(thumbnail)) {
+                return Optional.of(toCoverImage(name, thumbnail, format, false));
+            }
+        }
+        Path original = root.resolve(name);
+        return Files.isRegularFile(original)
+                ? Optional.of(toCoverImage(name, original, format, width != null))
+                : Optional.empty();
+    }
+
+    public Path resolve(String name) {
+        return Path.of(directory).resolve(match(name).orElseThrow().group());
+    }
+
+    private CoverImage toCoverImage(String name, Path path, CoverImageFormat format,
+                                    boolean fallback) throws IOException {
+        String fileName = path.getFileName().toString();
+        String etag = '"' + fileName.substring(0, fileName.lastIndexOf('.')) + '"';
+        return new CoverImage(name, path, etag, format.getMediaType(), Files.size(path),
+                fallback);
+    }
+
+    private Optional<Matcher> match(String name) {
+        if (name == null) {
+            return Optional.empty();
+        }
+        Matcher matcher = STORED_NAME.matcher(name);
+        return matcher.matches() ? Optional.of(matcher) : Optional.empty();
+    }
+
+    private String thumbnailName(Matcher matcher, int width) {
+        return matcher.group(1) + '-' + width + '.' + matcher.group(2);
+    }
+
+    private MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package bookstore.service.impl;
+
+import bookstore.dto.book.BookDto;
+import bookstore.exception.EntityNotFoundException;
+import bookstore.exception.InvalidCoverImageException;
+import bookstore.repository.book.BookRepository;
+import bookstore.service.BookCoverService;
+import bookstore.service.BookService;
+import bookstore.service.cover.CoverImage;
+import bookstore.service.cover.CoverImageFormat;
+import bookstore.service.cover.CoverImageStore;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import javax.imageio.ImageIO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+public class BookCoverServiceImpl implements BookCoverService {
+    private static final int SIGNATURE_LENGTH = 4;
+    private final BookService bookService;
+    private final BookRepository bookRepository;
+    private final CoverImageStore coverImageStore;
+    private final TaskExecutor applicationTaskExecutor;
+    @Value("${bookstore.covers.thumbnail-widths:160,320}")
+    private int[] thumbnailWidths;
+
+    @Override
+    public BookDto uploadCover(Long bookId, MediaType mediaType, InputStream content)
+            throws IOException {
+        CoverImageFormat format = CoverImageFormat.fromMediaType(mediaType)
+                .orElseThrow(() -> new InvalidCoverImageException(
+                        "Unsupported cover image type " + mediaType));
+        if (!bookRepository.existsById(bookId)) {
+            throw new EntityNotFoundException("Can't find book by id " + bookId);
+        }
+        BufferedInputStream inputStream = new BufferedInputStream(content);
+        inputStream.mark(SIGNATURE_LENGTH);
+        if (!format.matches(inputStream.readNBytes(SIGNATURE_LENGTH))) {
+            throw new InvalidCoverImageException("Content is not a valid " + mediaType + " image");
+        }
+        inputStream.reset();
+        String name = coverImageStore.store(inputStream, format);
+        BookDto bookDto = bookService.updateCoverImage(bookId, name);
+        if (format.getImageIoName() != null) {
+            applicationTaskExecutor.execute(() -> generateThumbnails(name));
+        }
+        return bookDto;
+    }
+
+    @Override
+    public CoverImage getCover(Long bookId, Integer width) throws IOException {
+        String name = bookRepository.findCoverImageById(bookId).orElse(null);
+        return coverImageStore.find(name, width).orElseThrow(() ->
+                new EntityNotFoundException("Can't find cover image of book by id " + bookId));
+    }
+
+    private void generateThumbnails(String name) {
+        try {
+            BufferedImage source = ImageIO.read(coverImageStore.resolve(name).toFile());
+            if (source == null) {
+                return;
+            }
+            for (int width : thumbnailWidths) {
+                if (width > 0 && width < source.getWidth()) {
+                    coverImageStore.storeThumbnail(name, width, scale(source, width));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Can't generate thumbnails of cover " + name, e);
+        }
+    }
+
+    private BufferedImage scale(BufferedImage source, int width) {
+        int height = Math.max(1, Math.round((float) source.getHeight() * width
+                / source.getWidth()));
+        BufferedImage thumbnail = new BufferedImage(width, height,
+                source.getColorModel().hasAlpha()
+                        ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = thumbnail.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+                    RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return thumbnail;
+    }
+}
@@ -0,0 +1,255 @@
+package bookstore.service.impl;
+
+import bookstore.dto.book.BookImportErrorDto;
+import bookstore.dto.book.BookImportFormat;
+import bookstore.dto.book.BookImportResultDto;
+import bookstore.dto.book.CreateBookRequestDto;
+import bookstore.repository.book.BookImportRepository;
+import bookstore.repository.book.index.BookSearchIndex;
+import bookstore.service.BookImportService;
+import bookstore.service.cache.EntityCacheEvictor;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+public class BookImportServiceImpl implements BookImportService {
+    private static final int MAX_BATCH_SIZE = 10000;
+    private final BookImportRepository bookImportRepository;
+    private final BookSearchIndex bookSearchIndex;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final EntityCacheEvictor entityCacheEvictor;
+    @Value("${bookstore.import.batch-size:500}")
+    private int batchSize;
+    @Value("${bookstore.import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    @Override
+    public BookImportResultDto importBooks(InputStream inputStream, BookImportFormat format)
+            throws IOException {
+        long started = System.nanoTime();
+        ImportState state = read(inputStream, format);
+        if (state.imported > 0) {
+            entityCacheEvictor.evictCategoryCounts();
+        }
+        long elapsedNanos = Math.max(1, System.nanoTime() - started);
+        return new BookImportResultDto()
+                .setImported(state.imported)
+                .setFailed(state.failed)
+                .setErrors(state.errors)
+                .setDurationMillis(elapsedNanos / 1_000_000)
+                .setRowsPerSecond((state.imported + state.failed) * 1e9 / elapsedNanos);
+    }
+
+    private ImportState read(InputStream inputStream, BookImportFormat format)
+            throws IOException {
+        BufferedReader reader = new BufferedReader(
+                new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        ImportState state = new ImportState(bookImportRepository.findCategoryIds());
+        Map<String, Integer> header = format == BookImportFormat.CSV ? readHeader(reader) : null;
+        long lineNumber = header == null ? 0 : 1;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                CreateBookRequestDto book = header == null
+                        ? objectMapper.readValue(line, CreateBookRequestDto.class)
+                        : parseCsvRow(header, line);
+                accept(state, lineNumber, book);
+            } catch (JsonProcessingException e) {
+                state.fail(lineNumber, null, "Can't parse row: " + e.getOriginalMessage());
+            } catch (IllegalArgumentException e) {
+                state.fail(lineNumber, null, "Can't parse row: " + e.getMessage());
+            }
+        }
+        flush(state);
+        return state;
+    }
+
+    private void accept(ImportState state, long lineNumber, CreateBookRequestDto book) {
+        if (book.getCategoryIds() == null) {
+            book.setCategoryIds(new HashSet<>());
+        }
+        String error = validate(book, state.categoryIds);
+        if (error == null && !state.seenIsbns.add(book.getIsbn())) {
+            error = "isbn: duplicated in the import";
+        }
+        if (error != null) {
+            state.fail(lineNumber, book.getIsbn(), error);
+            return;
+        }
+        state.batch.add(new ImportRow(lineNumber, book));
+        if (state.batch.size() >= Math.max(1, Math.min(batchSize, MAX_BATCH_SIZE))) {
+            flush(state);
+        }
+    }
+
+    private String validate(CreateBookRequestDto book, Set<Long> categoryIds) {
+        List<String> errors = validator.validate(book).stream()
+                .map(this::getErrorMessage)
+                .sorted()
+                .collect(Collectors.toCollection(ArrayList::new));
+        List<Long> unknownCategories = book.getCategoryIds().stream()
+                .filter(id -> !categoryIds.contains(id))
+                .sorted()
+                .toList();
+        if (!unknownCategories.isEmpty()) {
+            errors.add("categoryIds: unknown categories " + unknownCategories);
+        }
+        return errors.isEmpty() ? null : String.join("; ", errors);
+    }
+
+    private void flush(ImportState state) {
+        if (state.batch.isEmpty()) {
+            return;
+        }
+        Set<String> existingIsbns = bookImportRepository.findExistingIsbns(state.batch.stream()
+                .map(r -> r.book().getIsbn())
+                .toList());
+        List<ImportRow> rows = new ArrayList<>();
+        for (ImportRow row : state.batch) {
+            if (existingIsbns.contains(row.book().getIsbn())) {
+                state.fail(row.line(), row.book().getIsbn(), "isbn: already exists");
+            } else {
+                rows.add(row);
+            }
+        }
+        state.batch.clear();
+        try {
+            List<Long> bookIds = bookImportRepository.insertBatch(rows.stream()
+                    .map(ImportRow::book)
+                    .toList());
+            state.imported += bookIds.size();
+            bookSearchIndex.refresh(bookIds);
+        } catch (DataAccessException e) {
+            rows.forEach(r -> state.fail(r.line(), r.book().getIsbn(),
+                    "Can't save batch: " + e.getMostSpecificCause().getMessage()));
+        }
+    }
+
+    private Map<String, Integer> readHeader(BufferedReader reader) throws IOException {
+        String line = reader.readLine();
+        Map<String, Integer> header = new HashMap<>();
+        if (line == null) {
+            return header;
+        }
+        List<String> columns = parseCsvLine(line);
+        for (int i = 0; i < columns.size(); i++) {
+            header.put(columns.get(i).trim().replace("_", "").toLowerCase(Locale.ROOT), i);
+        }
+        return header;
+    }
+
+    private CreateBookRequestDto parseCsvRow(Map<String, Integer> header, String line) {
+        List<String> values = parseCsvLine(line);
+        String price = column(header, values, "price");
+        String categories = column(header, values, "categoryids");
+        return new CreateBookRequestDto()
+                .setTitle(column(header, values, "title"))
+                .setAuthor(column(header, values, "author"))
+                .setIsbn(column(header, values, "isbn"))
+                .setPrice(price == null ? null : new BigDecimal(price.trim()))
+                .setDescription(column(header, values, "description"))
+                .setCoverImage(column(header, values, "coverimage"))
+                .setCategoryIds(categories == null ? new HashSet<>() : Arrays.stream(
+                                categories.split(";"))
+                        .map(String::trim)
+                        .filter(c -> !c.isEmpty())
+                        .map(Long::valueOf)
+                        .collect(Collectors.toSet()));
+    }
+
+    private String column(Map<String, Integer> header, List<String> values, String name) {
+        Integer index = header.get(name);
+        if (index == null || index >= values.size() || values.get(index).isEmpty()) {
+            return null;
+        }
+        return values.get(index);
+    }
+
+    private List<String> parseCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    value.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("unterminated quoted value");
+        }
+        values.add(value.toString());
+        return values;
+    }
+
+    private String getErrorMessage(ConstraintViolation<CreateBookRequestDto> violation) {
+        return violation.getPropertyPath() + ": " + violation.getMessage();
+    }
+
+    private record ImportRow(long line, CreateBookRequestDto book) {
+    }
+
+    private class ImportState {
+        private final Set<Long> categoryIds;
+        private final Set<String> seenIsbns = new HashSet<>();
+        private final List<ImportRow> batch = new ArrayList<>();
+        private final List<BookImportErrorDto> errors = new ArrayList<>();
+        private long imported;
+        private long failed;
+
+        private ImportState(Set<Long> categoryIds) {
+            this.categoryIds = categoryIds;
+        }
+
+        private void fail(long line, String isbn, String message) {
+            failed++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new BookImportErrorDto()
+                        .setLine(line)
+                        .setIsbn(isbn)
+                        .setMessage(message));
+            }
+        }
+    }
+}
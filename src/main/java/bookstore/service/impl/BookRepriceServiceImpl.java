@@ -0,0 +1,133 @@
+package bookstore.service.impl;
+
+import bookstore.dto.book.BookRepriceJobDto;
+import bookstore.dto.book.BookRepriceRequestDto;
+import bookstore.dto.book.RepriceType;
+import bookstore.dto.catalog.CatalogChangeOperation;
+import bookstore.dto.catalog.CatalogEntityType;
+import bookstore.exception.EntityNotFoundException;
+import bookstore.repository.book.BookRepository;
+import bookstore.repository.book.index.BookSearchIndex;
+import bookstore.repository.book.search.BookSearchCompiler;
+import bookstore.repository.catalog.CatalogChangeRepository;
+import bookstore.service.BookRepriceService;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Service
+@RequiredArgsConstructor
+public class BookRepriceServiceImpl implements BookRepriceService {
+    private static final int MAX_KEPT_JOBS = 100;
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+    private static final BigDecimal CENT = new BigDecimal("0.01");
+    private final BookRepository bookRepository;
+    private final BookSearchCompiler bookSearchCompiler;
+    private final BookSearchIndex bookSearchIndex;
+    private final TaskExecutor applicationTaskExecutor;
+    private final CatalogChangeRepository catalogChangeRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<String, BookRepriceJobDto> jobs = new ConcurrentHashMap<>();
+    @Value("${bookstore.reprice.chunk-size:1000}")
+    private int chunkSize;
+
+    @Override
+    public BookRepriceJobDto start(BookRepriceRequestDto requestDto) {
+        List<Long> ids = bookRepository.findIds(bookSearchCompiler.compile(requestDto.getFilter()))
+                .stream()
+                .sorted()
+                .toList();
+        BookRepriceJobDto job = new BookRepriceJobDto()
+                .setId(UUID.randomUUID().toString())
+                .setStatus(BookRepriceJobDto.Status.RUNNING)
+                .setTotal(ids.size())
+                .setStartedAt(LocalDateTime.now());
+        evictFinishedJobs();
+        jobs.put(job.getId(), job);
+        applicationTaskExecutor.execute(() -> run(job, ids, requestDto));
+        return getJob(job.getId());
+    }
+
+    @Override
+    public BookRepriceJobDto getJob(String id) {
+        BookRepriceJobDto job = jobs.get(id);
+        if (job == null) {
+            throw new EntityNotFoundException("Can't find reprice job by id " + id);
+        }
+        synchronized (job) {
+            return new BookRepriceJobDto()
+                    .setId(job.getId())
+                    .setStatus(job.getStatus())
+                    .setTotal(job.getTotal())
+                    .setProcessed(job.getProcessed())
+                    .setUpdated(job.getUpdated())
+                    .setError(job.getError())
+                    .setStartedAt(job.getStartedAt())
+                    .setFinishedAt(job.getFinishedAt());
+        }
+    }
+
+    private void run(BookRepriceJobDto job, List<Long> ids, BookRepriceRequestDto requestDto) {
+        BigDecimal step = requestDto.getRoundingStep() == null
+                ? CENT : requestDto.getRoundingStep();
+        BigDecimal price = roundToStep(requestDto.getValue(), step);
+        BigDecimal factor = BigDecimal.ONE.add(requestDto.getValue().divide(HUNDRED));
+        try {
+            for (int from = 0; from < ids.size(); from += Math.max(1, chunkSize)) {
+                List<Long> chunk = ids.subList(from,
+                        Math.min(ids.size(), from + Math.max(1, chunkSize)));
+                Integer updated = transactionTemplate.execute(status -> {
+                    int count = requestDto.getType() == RepriceType.ABSOLUTE
+                            ? bookRepository.updatePrice(chunk, price)
+                            : bookRepository.scalePrice(chunk, factor, step);
+                    catalogChangeRepository.record(CatalogEntityType.BOOK,
+                            CatalogChangeOperation.UPSERT, chunk);
+                    return count;
+                });
+                bookSearchIndex.updatePrices(bookRepository.findPrices(chunk));
+                synchronized (job) {
+                    job.setProcessed(job.getProcessed() + chunk.size())
+                            .setUpdated(job.getUpdated() + updated);
+                }
+            }
+            finish(job, BookRepriceJobDto.Status.COMPLETED, null);
+        } catch (RuntimeException e) {
+            finish(job, BookRepriceJobDto.Status.FAILED, e.getMessage());
+        }
+    }
+
+    private void finish(BookRepriceJobDto job, BookRepriceJobDto.Status status, String error) {
+        synchronized (job) {
+            job.setStatus(status)
+                    .setError(error)
+                    .setFinishedAt(LocalDateTime.now());
+        }
+    }
+
+    private BigDecimal roundToStep(BigDecimal price, BigDecimal step) {
+        return price.divide(step, 0, RoundingMode.HALF_UP).multiply(step);
+    }
+
+    private void evictFinishedJobs() {
+        while (jobs.size() >= MAX_KEPT_JOBS) {
+            BookRepriceJobDto oldest = jobs.values().stream()
+                    .filter(j -> j.getFinishedAt() != null)
+                    .min(Comparator.comparing(BookRepriceJobDto::getStartedAt))
+                    .orElse(null);
+            if (oldest == null) {
+                return;
+            }
+            jobs.remove(oldest.getId());
+        }
+    }
+}
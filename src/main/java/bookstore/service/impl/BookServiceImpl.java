@@ -2,76 +2,353 @@ package bookstore.service.impl;
 
 import bookstore.dto.book.BookDto;
 import bookstore.dto.book.BookDtoWithoutCategoryIds;
+import bookstore.dto.book.BookFacetsDto;
 import bookstore.dto.book.BookSearchParametersDto;
+import bookstore.dto.book.BookSearchResultDto;
+import bookstore.dto.book.BookSuggestionDto;
 import bookstore.dto.book.CreateBookRequestDto;
+import bookstore.dto.book.PatchBookRequestDto;
+import bookstore.dto.catalog.CatalogChangeOperation;
+import bookstore.dto.catalog.CatalogEntityType;
+import bookstore.dto.page.CursorPageDto;
 import bookstore.exception.EntityNotFoundException;
+import bookstore.exception.InvalidCursorException;
 import bookstore.mapper.BookMapper;
 import bookstore.model.Book;
 import bookstore.model.Category;
+import bookstore.repository.CategoryBookCountRepository;
 import bookstore.repository.CategoryRepository;
+import bookstore.repository.book.BookCursor;
+import bookstore.repository.book.BookCursorCodec;
+import bookstore.repository.book.BookExportRow;
 import bookstore.repository.book.BookRepository;
 import bookstore.repository.book.BookSpecificationBuilderImpl;
+import bookstore.repository.book.index.BookSearchIndex;
+import bookstore.repository.book.search.BookSearchCompiler;
+import bookstore.repository.book.search.CompiledBookSearch;
+import bookstore.repository.catalog.CatalogChangeRepository;
 import bookstore.service.BookService;
+import bookstore.service.cache.BookJsonCache;
+import bookstore.service.cache.BookSearchCache;
+import bookstore.service.cache.EntityCacheEvictor;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.transaction.Transactional;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 
 @RequiredArgsConstructor
 @Service
 public class BookServiceImpl implements BookService {
+    private static final int MAX_SUGGESTIONS = 50;
     private final BookRepository bookRepository;
     private final CategoryRepository categoryRepository;
     private final BookMapper bookMapper;
     private final BookSpecificationBuilderImpl bookSpecificationBuilder;
+    private final BookSearchIndex bookSearchIndex;
+    private final BookCursorCodec bookCursorCodec;
+    private final BookSearchCompiler bookSearchCompiler;
+    private final BookSearchCache bookSearchCache;
+    private final BookJsonCache bookJsonCache;
+    private final ObjectMapper objectMapper;
+    private final CatalogChangeRepository catalogChangeRepository;
+    private final CategoryBookCountRepository categoryBookCountRepository;
+    private final EntityCacheEvictor entityCacheEvictor;
+    @Value("${bookstore.export.flush-every:1000}")
+    private int exportFlushEvery;
+    @Value("${bookstore.search.facets.max-sql-ids:10000}")
+    private int maxFacetIds;
 
     @Override
+    @Transactional
     public BookDto save(CreateBookRequestDto requestDto) {
         Book book = bookMapper.toEntity(requestDto);
-        return bookMapper.toDto(bookRepository.save(book));
+        Book savedBook = bookRepository.save(book);
+        updateBookCounts(Set.of(), categoryIds(savedBook));
+        recordChange(savedBook.getId(), CatalogChangeOperation.UPSERT);
+        bookSearchIndex.index(savedBook);
+        return bookMapper.toDto(savedBook);
     }
 
     @Override
     public List<BookDto> findAll(Pageable pageable) {
-        return bookRepository.findAll(pageable).stream()
+        return bookSearchCache.get(null, pageable, () -> (bookSearchIndex.isPriceOrdered(pageable)
+                ? bookRepository.findAllByIdInOrder(bookSearchIndex.findIdsByPrice(null, pageable))
+                : bookRepository.findPage(pageable)).stream()
                 .map(b -> bookMapper.toDto(b))
-                .toList();
+                .toList());
+    }
+
+    @Override
+    public CursorPageDto<BookDto> findAll(String cursor, Pageable pageable) {
+        return scroll(Specification.where(null), cursor, pageable);
     }
 
     @Override
+    @Transactional
     public BookDto findById(Long id) {
         return bookMapper.toDto(findBookById(id));
     }
 
     @Override
+    @Transactional
     public void deleteById(Long id) {
+        bookRepository.findById(id)
+                .ifPresent(book -> updateBookCounts(categoryIds(book), Set.of()));
         bookRepository.deleteById(id);
+        recordChange(id, CatalogChangeOperation.DELETE);
+        bookSearchIndex.remove(id);
     }
 
     @Override
+    @Transactional
     public BookDto update(Long id, CreateBookRequestDto requestDto) {
-        Book book = bookMapper.toEntity(requestDto);
-        book.setId(id);
-        return bookMapper.toDto(bookRepository.save(book));
+        Book book = findBookById(id);
+        Set<Long> previousCategoryIds = categoryIds(book);
+        bookMapper.updateEntity(requestDto, book);
+        Book savedBook = bookRepository.saveAndFlush(book);
+        updateBookCounts(previousCategoryIds, categoryIds(savedBook));
+        recordChange(id, CatalogChangeOperation.UPSERT);
+        bookSearchIndex.index(savedBook);
+        return bookMapper.toDto(savedBook);
+    }
+
+    @Override
+    @Transactional
+    public BookDto patch(Long id, PatchBookRequestDto requestDto) {
+        Book book = findBookById(id);
+        if (!book.getVersion().equals(requestDto.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Book.class, id);
+        }
+        Set<Long> previousCategoryIds = categoryIds(book);
+        bookMapper.updateEntity(requestDto, book);
+        Book savedBook = bookRepository.saveAndFlush(book);
+        updateBookCounts(previousCategoryIds, categoryIds(savedBook));
+        recordChange(id, CatalogChangeOperation.UPSERT);
+        bookSearchIndex.index(savedBook);
+        return bookMapper.toDto(savedBook);
+    }
+
+    @Override
+    @Transactional
+    public BookDto updateCoverImage(Long id, String coverImage) {
+        Book book = findBookById(id);
+        book.setCoverImage(coverImage);
+        Book savedBook = bookRepository.save(book);
+        recordChange(id, CatalogChangeOperation.UPSERT);
+        bookSearchIndex.index(savedBook);
+        return bookMapper.toDto(savedBook);
     }
 
     @Override
     public List<BookDto> search(BookSearchParametersDto params, Pageable pageable) {
-        Specification<Book> bookSpecification = bookSpecificationBuilder.build(params);
-        return bookRepository.findAll(bookSpecification, pageable).stream()
+        return bookSearchCache.get(params, pageable, () ->
+                findPage(bookSearchCompiler.compile(params), pageable).stream()
+                .map(bookMapper::toDto)
+                .toList());
+    }
+
+    @Override
+    public CursorPageDto<BookDto> search(BookSearchParametersDto params, String cursor,
+                                         Pageable pageable) {
+        return scroll(bookSpecificationBuilder.build(params), cursor, pageable);
+    }
+
+    @Override
+    public BookSearchResultDto searchWithFacets(BookSearchParametersDto params,
+                                                Pageable pageable) {
+        CompiledBookSearch compiledSearch = bookSearchCompiler.compile(params);
+        List<BookDto> books = findPage(compiledSearch, pageable).stream()
                 .map(bookMapper::toDto)
                 .toList();
+        return new BookSearchResultDto()
+                .setBooks(books)
+                .setFacets(countFacets(compiledSearch));
+    }
+
+    @Override
+    public List<BookSuggestionDto> suggest(String prefix, int limit) {
+        return bookSearchIndex.suggest(prefix, Math.max(1, Math.min(limit, MAX_SUGGESTIONS)));
+    }
+
+    @Override
+    @Transactional
+    public void export(OutputStream outputStream) throws IOException {
+        try (Stream<BookExportRow> rows = bookRepository.streamExportRows();
+                JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)
+                        .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            generator.setRootValueSeparator(null);
+            Iterator<BookExportRow> iterator = rows.iterator();
+            BookDto current = null;
+            int written = 0;
+            while (iterator.hasNext()) {
+                BookExportRow row = iterator.next();
+                if (current == null || !current.getId().equals(row.id())) {
+                    if (current != null) {
+                        writeLine(generator, current, ++written);
+                    }
+                    current = toDto(row);
+                }
+                if (row.categoryId() != null) {
+                    current.getCategoryIds().add(row.categoryId());
+                }
+            }
+            if (current != null) {
+                writeLine(generator, current, ++written);
+            }
+        }
+    }
+
+    @Override
+    public void writeJson(BookDto book, OutputStream outputStream) throws IOException {
+        bookJsonCache.write(book, outputStream);
+    }
+
+    @Override
+    public void writeJson(List<BookDto> books, OutputStream outputStream) throws IOException {
+        bookJsonCache.write(books, outputStream);
     }
 
     @Override
-    public List<BookDtoWithoutCategoryIds> findByCategoryId(Long categoryId) {
-        Category category = categoryRepository.findById(categoryId).orElseThrow(
-                () -> new EntityNotFoundException("Can't find Category by id " + categoryId));
-        return category.getBooks().stream()
-                .map(bookMapper::toDtoWithoutCategories)
-                .collect(Collectors.toList());
+    public List<BookDtoWithoutCategoryIds> findByCategoryId(Long categoryId, Pageable pageable) {
+        checkCategoryExists(categoryId);
+        return bookRepository.findAllByCategoryId(categoryId, pageable.getSort().isSorted()
+                ? pageable
+                : PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(),
+                        Sort.by("id")));
+    }
+
+    @Override
+    public CursorPageDto<BookDtoWithoutCategoryIds> findByCategoryId(Long categoryId,
+                                                                     String cursor,
+                                                                     Pageable pageable) {
+        checkCategoryExists(categoryId);
+        int size = pageable.getPageSize();
+        List<BookDtoWithoutCategoryIds> books = bookRepository.findAllByCategoryIdAfter(
+                categoryId, decodeBookIdCursor(cursor), PageRequest.of(0, size + 1));
+        boolean hasNext = books.size() > size;
+        List<BookDtoWithoutCategoryIds> content = hasNext ? books.subList(0, size) : books;
+        return new CursorPageDto<BookDtoWithoutCategoryIds>()
+                .setContent(content)
+                .setNextCursor(hasNext ? String.valueOf(content.get(size - 1).getId()) : null);
+    }
+
+    private List<Book> findPage(CompiledBookSearch search, Pageable pageable) {
+        if (search.indexOnly() && bookSearchIndex.isPriceOrdered(pageable)) {
+            return bookRepository.findAllByIdInOrder(
+                    bookSearchIndex.findIdsByPrice(search.matchedIds(), pageable));
+        }
+        return bookRepository.findPage(search, pageable);
+    }
+
+    private BookFacetsDto countFacets(CompiledBookSearch search) {
+        if (search.indexOnly()) {
+            return search.matchedIds() == null
+                    ? bookSearchIndex.countAllFacets()
+                    : bookSearchIndex.countFacets(search.matchedIds());
+        }
+        List<Long> ids = bookRepository.findIds(search, maxFacetIds + 1);
+        if (ids.size() <= maxFacetIds) {
+            return bookSearchIndex.countFacets(ids);
+        }
+        return bookSearchIndex.countFacets(ids.subList(0, maxFacetIds))
+                .setTruncated(true);
+    }
+
+    private CursorPageDto<BookDto> scroll(Specification<Book> spec, String cursor,
+                                          Pageable pageable) {
+        BookCursor bookCursor = bookCursorCodec.decode(cursor, pageable.getSort());
+        Window<Book> window = bookRepository.findBy(spec, q -> q
+                .sortBy(bookCursor.sort())
+                .limit(pageable.getPageSize())
+                .scroll(bookCursor.position()));
+        String nextCursor = window.hasNext() && !window.isEmpty()
+                ? bookCursorCodec.encode(bookCursor.sort(), window.positionAt(window.size() - 1))
+                : null;
+        List<Long> ids = window.stream()
+                .map(Book::getId)
+                .toList();
+        return new CursorPageDto<BookDto>()
+                .setContent(bookRepository.findAllByIdInOrder(ids).stream()
+                        .map(bookMapper::toDto)
+                        .toList())
+                .setNextCursor(nextCursor);
+    }
+
+    private void writeLine(JsonGenerator generator, BookDto book, int written)
+            throws IOException {
+        generator.writeObject(book);
+        generator.writeRaw('\n');
+        if (exportFlushEvery > 0 && written % exportFlushEvery == 0) {
+            generator.flush();
+        }
+    }
+
+    private BookDto toDto(BookExportRow row) {
+        return new BookDto()
+                .setId(row.id())
+                .setTitle(row.title())
+                .setAuthor(row.author())
+                .setIsbn(row.isbn())
+                .setPrice(row.price())
+                .setDescription(row.description())
+                .setCoverImage(row.coverImage())
+                .setCategoryIds(new HashSet<>());
+    }
+
+    private Set<Long> categoryIds(Book book) {
+        return book.getCategories().stream()
+                .map(Category::getId)
+                .collect(Collectors.toSet());
+    }
+
+    private void updateBookCounts(Set<Long> previousCategoryIds, Set<Long> currentCategoryIds) {
+        List<Long> removed = previousCategoryIds.stream()
+                .filter(id -> !currentCategoryIds.contains(id))
+                .toList();
+        List<Long> added = currentCategoryIds.stream()
+                .filter(id -> !previousCategoryIds.contains(id))
+                .toList();
+        categoryBookCountRepository.adjust(removed, -1);
+        categoryBookCountRepository.adjust(added, 1);
+        entityCacheEvictor.evictCategoryCounts(Stream.concat(removed.stream(), added.stream())
+                .toList());
+    }
+
+    private void recordChange(Long id, CatalogChangeOperation operation) {
+        catalogChangeRepository.record(CatalogEntityType.BOOK, operation, List.of(id));
+    }
+
+    private void checkCategoryExists(Long categoryId) {
+        if (!categoryRepository.existsById(categoryId)) {
+            throw new EntityNotFoundException("Can't find Category by id " + categoryId);
+        }
+    }
+
+    private long decodeBookIdCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(cursor);
+        } catch (NumberFormatException e) {
+            throw new InvalidCursorException("Can't decode cursor " + cursor);
+        }
     }
 
     private Book findBookById(Long id) {
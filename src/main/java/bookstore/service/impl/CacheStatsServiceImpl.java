@@ -0,0 +1,27 @@
+package bookstore.service.impl;
+
+import bookstore.dto.cache.CacheStatsDto;
+import bookstore.service.CacheStatsProvider;
+import bookstore.service.CacheStatsService;
+import bookstore.service.cache.SecondLevelCacheStats;
+import java.util.List;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+@RequiredArgsConstructor
+@Service
+public class CacheStatsServiceImpl implements CacheStatsService {
+    private final List<CacheStatsProvider> cacheStatsProviders;
+    private final SecondLevelCacheStats secondLevelCacheStats;
+
+    @Override
+    public List<CacheStatsDto> findAll() {
+        return Stream.concat(
+                        cacheStatsProviders.stream().map(CacheStatsProvider::getStats),
+                        secondLevelCacheStats.getStats().stream())
+                .map(s -> s.setHitRatio(s.getHits() + s.getMisses() == 0 ? 0
+                        : (double) s.getHits() / (s.getHits() + s.getMisses())))
+                .toList();
+    }
+}
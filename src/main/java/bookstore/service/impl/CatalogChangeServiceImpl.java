@@ -0,0 +1,100 @@
+package bookstore.service.impl;
+
+import bookstore.dto.book.BookDto;
+import bookstore.dto.catalog.CatalogChangeDto;
+import bookstore.dto.catalog.CatalogChangeOperation;
+import bookstore.dto.catalog.CatalogChangesDto;
+import bookstore.dto.catalog.CatalogEntityType;
+import bookstore.dto.category.CategoryDto;
+import bookstore.mapper.BookMapper;
+import bookstore.mapper.CategoryMapper;
+import bookstore.model.Book;
+import bookstore.model.Category;
+import bookstore.repository.CategoryRepository;
+import bookstore.repository.book.BookRepository;
+import bookstore.repository.catalog.CatalogChange;
+import bookstore.repository.catalog.CatalogChangeRepository;
+import bookstore.service.CatalogChangeService;
+import jakarta.transaction.Transactional;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+public class CatalogChangeServiceImpl implements CatalogChangeService {
+    private static final int MAX_LIMIT = 1000;
+    private final CatalogChangeRepository catalogChangeRepository;
+    private final BookRepository bookRepository;
+    private final CategoryRepository categoryRepository;
+    private final BookMapper bookMapper;
+    private final CategoryMapper categoryMapper;
+    @Value("${bookstore.catalog-changes.compaction-batch-size:10000}")
+    private int compactionBatchSize;
+
+    @Override
+    @Transactional
+    public CatalogChangesDto getChanges(long since, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_LIMIT));
+        List<CatalogChange> changes = catalogChangeRepository.findSince(since, pageSize + 1);
+        boolean hasMore = changes.size() > pageSize;
+        if (hasMore) {
+            changes = changes.subList(0, pageSize);
+        }
+        Map<Long, BookDto> books = bookRepository.findAllByIdInOrder(
+                        upsertedIds(changes, CatalogEntityType.BOOK)).stream()
+                .collect(Collectors.toMap(Book::getId, bookMapper::toDto));
+        Map<Long, CategoryDto> categories = categoryRepository.findAllById(
+                        upsertedIds(changes, CatalogEntityType.CATEGORY)).stream()
+                .collect(Collectors.toMap(Category::getId, categoryMapper::toDto));
+        List<CatalogChangeDto> changeDtos = changes.stream()
+                .map(change -> toDto(change, books, categories))
+                .toList();
+        long nextSince = changes.isEmpty() ? since : changes.get(changes.size() - 1).version();
+        return new CatalogChangesDto()
+                .setChanges(changeDtos)
+                .setNextSince(nextSince)
+                .setHasMore(hasMore);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${bookstore.catalog-changes.compaction-interval:PT1H}",
+            initialDelayString = "${bookstore.catalog-changes.compaction-interval:PT1H}")
+    public void compact() {
+        long batchSize = Math.max(1, compactionBatchSize);
+        long lastVersion = catalogChangeRepository.findLastVersion();
+        for (long from = catalogChangeRepository.findFirstVersion(); from <= lastVersion;
+                from += batchSize) {
+            catalogChangeRepository.deleteSuperseded(from, from + batchSize);
+        }
+    }
+
+    private List<Long> upsertedIds(List<CatalogChange> changes, CatalogEntityType entityType) {
+        return changes.stream()
+                .filter(change -> change.entityType() == entityType
+                        && change.operation() == CatalogChangeOperation.UPSERT)
+                .map(CatalogChange::entityId)
+                .distinct()
+                .toList();
+    }
+
+    private CatalogChangeDto toDto(CatalogChange change, Map<Long, BookDto> books,
+                                   Map<Long, CategoryDto> categories) {
+        CatalogChangeDto changeDto = new CatalogChangeDto()
+                .setVersion(change.version())
+                .setEntityType(change.entityType())
+                .setEntityId(change.entityId())
+                .setOperation(change.operation())
+                .setChangedAt(change.changedAt());
+        if (change.operation() == CatalogChangeOperation.DELETE) {
+            return changeDto;
+        }
+        return change.entityType() == CatalogEntityType.BOOK
+                ? changeDto.setBook(books.get(change.entityId()))
+                : changeDto.setCategory(categories.get(change.entityId()));
+    }
+}
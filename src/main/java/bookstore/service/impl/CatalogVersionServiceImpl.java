@@ -0,0 +1,39 @@
+package bookstore.service.impl;
+
+import bookstore.dto.catalog.CatalogVersionDto;
+import bookstore.repository.catalog.EntityVersion;
+import bookstore.repository.catalog.EntityVersionRepository;
+import bookstore.service.CatalogVersionService;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+public class CatalogVersionServiceImpl implements CatalogVersionService {
+    private final EntityVersionRepository entityVersionRepository;
+
+    @Override
+    public CatalogVersionDto getCatalogVersion() {
+        return toDto("catalog-", entityVersionRepository.findCatalogVersion());
+    }
+
+    @Override
+    public Optional<CatalogVersionDto> findBookVersion(Long id) {
+        return entityVersionRepository.findBookVersion(id)
+                .map(version -> toDto("book-" + id + "-", version));
+    }
+
+    @Override
+    public Optional<CatalogVersionDto> findCategoryVersion(Long id) {
+        return entityVersionRepository.findCategoryVersion(id)
+                .map(version -> toDto("category-" + id + "-", version));
+    }
+
+    private CatalogVersionDto toDto(String prefix, EntityVersion version) {
+        return new CatalogVersionDto()
+                .setEtag('"' + prefix + version.version() + '"')
+                .setLastModified(version.modifiedAt() == null
+                        ? -1 : version.modifiedAt().toEpochMilli());
+    }
+}
@@ -1,15 +1,33 @@
 package bookstore.service.impl;
 
+import bookstore.dto.bulk.BulkUpdateResultDto;
+import bookstore.dto.catalog.CatalogChangeOperation;
+import bookstore.dto.catalog.CatalogEntityType;
 import bookstore.dto.category.CategoryDto;
 import bookstore.exception.EntityNotFoundException;
+import bookstore.exception.InvalidCategoryHierarchyException;
 import bookstore.mapper.CategoryMapper;
 import bookstore.model.Category;
+import bookstore.repository.BookCategoryRepository;
+import bookstore.repository.CategoryBookCountRepository;
+import bookstore.repository.CategoryClosureRepository;
 import bookstore.repository.CategoryRepository;
+import bookstore.repository.CategoryTree;
+import bookstore.repository.book.index.BookSearchIndex;
+import bookstore.repository.catalog.CatalogChangeRepository;
 import bookstore.service.CategoryService;
+import bookstore.service.cache.CategorySnapshot;
+import bookstore.service.cache.EntityCacheEvictor;
+import jakarta.transaction.Transactional;
+import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
+import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -17,37 +35,153 @@ import org.springframework.stereotype.Service;
 public class CategoryServiceImpl implements CategoryService {
     private final CategoryRepository categoryRepository;
     private final CategoryMapper categoryMapper;
+    private final BookCategoryRepository bookCategoryRepository;
+    private final BookSearchIndex bookSearchIndex;
+    private final CatalogChangeRepository catalogChangeRepository;
+    private final EntityCacheEvictor entityCacheEvictor;
+    private final CategoryClosureRepository categoryClosureRepository;
+    private final CategoryTree categoryTree;
+    private final CategoryBookCountRepository categoryBookCountRepository;
+    private final CategorySnapshot categorySnapshot;
+    @Value("${bookstore.category-assignment.chunk-size:1000}")
+    private int chunkSize;
 
     @Override
+    @Transactional
     public CategoryDto save(CategoryDto requestDto) {
-        Category category = categoryMapper.toEntity(requestDto);
-        return categoryMapper.toDto(categoryRepository.save(category));
+        checkParentExists(requestDto.getParentId());
+        Category category = categoryRepository.save(categoryMapper.toEntity(requestDto));
+        categoryClosureRepository.insert(category.getId(), category.getParentId());
+        categoryTree.invalidate();
+        recordChange(category.getId(), CatalogChangeOperation.UPSERT);
+        CategoryDto categoryDto = categoryMapper.toDto(category);
+        categorySnapshot.put(category.getId(), categoryDto);
+        return categoryDto;
     }
 
     @Override
     public CategoryDto findById(Long id) {
-        Category category = getById(id);
-        return categoryMapper.toDto(category);
+        return categorySnapshot.findById(id)
+                .orElseGet(() -> categoryMapper.toDto(getById(id)));
     }
 
     @Override
     public List<CategoryDto> findAll(Pageable pageable) {
-        return categoryRepository.findAll(pageable).stream()
-                .map(categoryMapper::toDto)
-                .collect(Collectors.toList());
+        return categorySnapshot.findAll(pageable)
+                .orElseGet(() -> categoryRepository.findAll(pageable).stream()
+                        .map(categoryMapper::toDto)
+                        .collect(Collectors.toList()));
+    }
+
+    @Override
+    public List<CategoryDto> findByName(String name) {
+        return categorySnapshot.findByName(name)
+                .orElseGet(() -> categoryRepository.findByNameIgnoreCaseOrderByIdAsc(name).stream()
+                        .map(categoryMapper::toDto)
+                        .toList());
     }
 
     @Override
+    @Transactional
     public CategoryDto update(Long id, CategoryDto requestDto) {
         Category category = getById(id);
         category.setName(requestDto.getName());
         category.setDescription(requestDto.getDescription());
-        return categoryMapper.toDto(categoryRepository.save(category));
+        if (!Objects.equals(category.getParentId(), requestDto.getParentId())) {
+            move(category, requestDto.getParentId());
+        }
+        categoryRepository.save(category);
+        categoryRepository.incrementVersion(id);
+        Category savedCategory = getById(id);
+        recordChange(id, CatalogChangeOperation.UPSERT);
+        CategoryDto categoryDto = categoryMapper.toDto(savedCategory);
+        categorySnapshot.put(id, categoryDto);
+        return categoryDto;
     }
 
     @Override
+    @Transactional
     public void deleteById(Long id) {
+        if (categoryRepository.existsByParentId(id)) {
+            throw new InvalidCategoryHierarchyException("Category " + id
+                    + " can't be deleted while it has subcategories");
+        }
         categoryRepository.deleteById(id);
+        categoryTree.invalidate();
+        recordChange(id, CatalogChangeOperation.DELETE);
+        categorySnapshot.remove(id);
+        List<Long> bookIds = bookCategoryRepository.markCategoryBooksChanged(List.of(id));
+        entityCacheEvictor.evictCategories(List.of(id));
+        entityCacheEvictor.evictBooks(bookIds);
+        bookSearchIndex.refreshAfterCommit(bookIds);
+    }
+
+    @Override
+    public BulkUpdateResultDto assignBooks(Long id, List<Long> bookIds) {
+        return updateMembership(id, bookIds, bookCategoryRepository::assign);
+    }
+
+    @Override
+    public BulkUpdateResultDto unassignBooks(Long id, List<Long> bookIds) {
+        return updateMembership(id, bookIds, bookCategoryRepository::unassign);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${bookstore.category-book-counts.reconcile-interval:PT1H}",
+            initialDelayString = "${bookstore.category-book-counts.reconcile-interval:PT1H}")
+    public void reconcileBookCounts() {
+        if (categoryBookCountRepository.reconcile() > 0) {
+            entityCacheEvictor.evictCategoryCounts();
+        }
+    }
+
+    private BulkUpdateResultDto updateMembership(
+            Long id, List<Long> bookIds,
+            BiFunction<Long, Collection<Long>, List<Long>> membershipUpdate) {
+        if (!bookCategoryRepository.existsCategory(id)) {
+            throw new EntityNotFoundException("Can't find Category by id " + id);
+        }
+        List<Long> distinctIds = bookIds.stream()
+                .distinct()
+                .sorted()
+                .toList();
+        int size = Math.max(1, chunkSize);
+        int updated = 0;
+        for (int from = 0; from < distinctIds.size(); from += size) {
+            List<Long> changed = membershipUpdate.apply(id,
+                    distinctIds.subList(from, Math.min(distinctIds.size(), from + size)));
+            entityCacheEvictor.evictBooks(changed);
+            bookSearchIndex.refresh(changed);
+            updated += changed.size();
+        }
+        if (updated > 0) {
+            entityCacheEvictor.evictCategoryCounts(List.of(id));
+        }
+        return new BulkUpdateResultDto()
+                .setMatched(distinctIds.size())
+                .setUpdated(updated);
+    }
+
+    private void move(Category category, Long parentId) {
+        checkParentExists(parentId);
+        if (parentId != null
+                && categoryClosureRepository.isInSubtree(category.getId(), parentId)) {
+            throw new InvalidCategoryHierarchyException("Category " + category.getId()
+                    + " can't be moved under its own subcategory " + parentId);
+        }
+        categoryClosureRepository.move(category.getId(), parentId);
+        category.setParentId(parentId);
+        categoryTree.invalidate();
+    }
+
+    private void checkParentExists(Long parentId) {
+        if (parentId != null && !categoryRepository.existsById(parentId)) {
+            throw new EntityNotFoundException("Can't find parent Category by id " + parentId);
+        }
+    }
+
+    private void recordChange(Long id, CatalogChangeOperation operation) {
+        catalogChangeRepository.record(CatalogEntityType.CATEGORY, operation, List.of(id));
     }
 
     private Category getById(Long id) {
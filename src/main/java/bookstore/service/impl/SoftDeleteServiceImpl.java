@@ -0,0 +1,105 @@
+package bookstore.service.impl;
+
+import bookstore.dto.book.BookBulkRequestDto;
+import bookstore.dto.bulk.BulkUpdateResultDto;
+import bookstore.repository.CategoryTree;
+import bookstore.repository.SoftDeleteRepository;
+import bookstore.repository.book.BookRepository;
+import bookstore.repository.book.index.BookIndexEntry;
+import bookstore.repository.book.index.BookSearchIndex;
+import bookstore.repository.book.search.BookSearchCompiler;
+import bookstore.service.SoftDeleteService;
+import bookstore.service.cache.EntityCacheEvictor;
+import java.util.List;
+import java.util.stream.IntStream;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+public class SoftDeleteServiceImpl implements SoftDeleteService {
+    private final SoftDeleteRepository softDeleteRepository;
+    private final BookRepository bookRepository;
+    private final BookSearchCompiler bookSearchCompiler;
+    private final BookSearchIndex bookSearchIndex;
+    private final EntityCacheEvictor entityCacheEvictor;
+    private final CategoryTree categoryTree;
+    @Value("${bookstore.soft-delete.chunk-size:1000}")
+    private int chunkSize;
+
+    @Override
+    public BulkUpdateResultDto deleteBooks(BookBulkRequestDto requestDto) {
+        List<Long> ids = requestDto.getIds() != null
+                ? distinct(requestDto.getIds())
+                : distinct(bookRepository.findIds(bookSearchCompiler.compile(
+                        requestDto.getFilter())));
+        return updateBooks(ids, true);
+    }
+
+    @Override
+    public BulkUpdateResultDto restoreBooks(BookBulkRequestDto requestDto) {
+        List<Long> ids = requestDto.getIds() != null
+                ? distinct(requestDto.getIds())
+                : softDeleteRepository.findDeletedBookEntries().stream()
+                        .filter(entry -> bookSearchIndex.matches(requestDto.getFilter(), entry))
+                        .map(BookIndexEntry::id)
+                        .toList();
+        return updateBooks(ids, false);
+    }
+
+    @Override
+    public BulkUpdateResultDto deleteCategories(List<Long> ids) {
+        return updateCategories(distinct(ids), true);
+    }
+
+    @Override
+    public BulkUpdateResultDto restoreCategories(List<Long> ids) {
+        return updateCategories(distinct(ids), false);
+    }
+
+    private BulkUpdateResultDto updateBooks(List<Long> ids, boolean deleted) {
+        int updated = 0;
+        for (List<Long> chunk : chunks(ids)) {
+            updated += softDeleteRepository.setBooksDeleted(chunk, deleted);
+            entityCacheEvictor.evictBooks(chunk);
+            entityCacheEvictor.evictCategoryCounts();
+            bookSearchIndex.refresh(chunk);
+        }
+        return new BulkUpdateResultDto()
+                .setMatched(ids.size())
+                .setUpdated(updated);
+    }
+
+    private BulkUpdateResultDto updateCategories(List<Long> ids, boolean deleted) {
+        int updated = 0;
+        for (List<Long> chunk : chunks(ids)) {
+            updated += softDeleteRepository.setCategoriesDeleted(chunk, deleted);
+            entityCacheEvictor.evictCategories(chunk);
+            for (List<Long> bookIds : chunks(softDeleteRepository.findBookIdsByCategories(chunk))) {
+                entityCacheEvictor.evictBooks(bookIds);
+                bookSearchIndex.refresh(bookIds);
+            }
+        }
+        if (updated > 0) {
+            categoryTree.invalidate();
+        }
+        return new BulkUpdateResultDto()
+                .setMatched(ids.size())
+                .setUpdated(updated);
+    }
+
+    private List<List<Long>> chunks(List<Long> ids) {
+        int size = Math.max(1, chunkSize);
+        return IntStream.range(0, (ids.size() + size - 1) / size)
+                .mapToObj(i -> ids.subList(i * size, Math.min(ids.size(), (i + 1) * size)))
+                .toList();
+    }
+
+    private List<Long> distinct(List<Long> ids) {
+        return ids.stream()
+                .distinct()
+                .sorted()
+                .toList();
+    }
+}
@@ -0,0 +1,17 @@
+package bookstore.validation;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+@Constraint(validatedBy = ExactlyOneSelectorValidator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface ExactlyOneSelector {
+    String message() default "Exactly one of ids or filter must be specified";
+    Class<?>[] groups() default {};
+    Class<? extends Payload>[] payload() default {};
+}
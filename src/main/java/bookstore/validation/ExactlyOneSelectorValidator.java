@@ -0,0 +1,14 @@
+package bookstore.validation;
+
+import bookstore.dto.book.BookBulkRequestDto;
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+public class ExactlyOneSelectorValidator
+        implements ConstraintValidator<ExactlyOneSelector, BookBulkRequestDto> {
+    public boolean isValid(BookBulkRequestDto value,
+                           ConstraintValidatorContext context) {
+        boolean hasIds = value.getIds() != null && !value.getIds().isEmpty();
+        return hasIds != (value.getFilter() != null);
+    }
+}
@@ -0,0 +1,17 @@
+package bookstore.validation;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+@Constraint(validatedBy = NonNegativePriceRuleValidator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface NonNegativePriceRule {
+    String message() default "Price rule must not make prices negative";
+    Class<?>[] groups() default {};
+    Class<? extends Payload>[] payload() default {};
+}
@@ -0,0 +1,22 @@
+package bookstore.validation;
+
+import bookstore.dto.book.BookRepriceRequestDto;
+import bookstore.dto.book.RepriceType;
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+import java.math.BigDecimal;
+
+public class NonNegativePriceRuleValidator
+        implements ConstraintValidator<NonNegativePriceRule, BookRepriceRequestDto> {
+    private static final BigDecimal MIN_PERCENTAGE = BigDecimal.valueOf(-100);
+
+    public boolean isValid(BookRepriceRequestDto value,
+                           ConstraintValidatorContext context) {
+        if (value.getType() == null || value.getValue() == null) {
+            return true;
+        }
+        BigDecimal min = value.getType() == RepriceType.PERCENTAGE
+                ? MIN_PERCENTAGE : BigDecimal.ZERO;
+        return value.getValue().compareTo(min) >= 0;
+    }
+}
@@ -0,0 +1,17 @@
+package bookstore.validation;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+@Constraint(validatedBy = RepriceScopeValidator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface RepriceScope {
+    String message() default "Filter must have at least one criterion unless all is true";
+    Class<?>[] groups() default {};
+    Class<? extends Payload>[] payload() default {};
+}
@@ -0,0 +1,25 @@
+package bookstore.validation;
+
+import bookstore.dto.book.BookRepriceRequestDto;
+import bookstore.dto.book.BookSearchParametersDto;
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+public class RepriceScopeValidator
+        implements ConstraintValidator<RepriceScope, BookRepriceRequestDto> {
+    public boolean isValid(BookRepriceRequestDto value,
+                           ConstraintValidatorContext context) {
+        BookSearchParametersDto filter = value.getFilter();
+        if (value.isAll() || filter == null) {
+            return true;
+        }
+        return Stream.of(filter.authors(), filter.titles(), filter.isbns(),
+                        filter.prices(), filter.categories())
+                .filter(Objects::nonNull)
+                .flatMap(Arrays::stream)
+                .anyMatch(criterion -> criterion != null && !criterion.isBlank());
+    }
+}
@@ -3,10 +3,12 @@ package bookstore.controller;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import bookstore.dto.book.BookDto;
@@ -93,17 +95,23 @@ class BookControllerTest {
         List<BookDto> expected = new ArrayList<>();
         expected.add(new BookDto().setId(1L).setTitle("Title1").setAuthor("Author1")
                 .setIsbn("isbn1").setPrice(BigDecimal.valueOf(1.99)).setDescription("Description1")
-                .setCoverImage("CoverImage1").setCategoryIds(new HashSet<>()));
+                .setCoverImage("CoverImage1").setCategoryIds(new HashSet<>())
+                .setVersion(0L));
         expected.add(new BookDto().setId(2L).setTitle("Title2").setAuthor("Author2")
                 .setIsbn("isbn2").setPrice(BigDecimal.valueOf(2.99)).setDescription("Description2")
-                .setCoverImage("CoverImage2").setCategoryIds(new HashSet<>()));
+                .setCoverImage("CoverImage2").setCategoryIds(new HashSet<>())
+                .setVersion(0L));
         expected.add(new BookDto().setId(3L).setTitle("Title3").setAuthor("Author3")
                 .setIsbn("isbn3").setPrice(BigDecimal.valueOf(3.99)).setDescription("Description3")
-                .setCoverImage("CoverImage3").setCategoryIds(new HashSet<>()));
+                .setCoverImage("CoverImage3").setCategoryIds(new HashSet<>())
+                .setVersion(0L));
 
         // When
-        MvcResult result = mockMvc.perform(get("/books")
+        MvcResult started = mockMvc.perform(get("/books")
                         .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
                 .andExpect(status().isOk())
                 .andReturn();
         // Then
@@ -178,11 +186,15 @@ class BookControllerTest {
                         .setPrice(BigDecimal.valueOf(1.99))
                         .setDescription("Description1")
                         .setCoverImage("CoverImage1")
-                        .setCategoryIds(new HashSet<>());
+                        .setCategoryIds(new HashSet<>())
+                        .setVersion(0L);
 
         // When
-        MvcResult result = mockMvc.perform(get("/books/" + bookId)
+        MvcResult started = mockMvc.perform(get("/books/" + bookId)
                         .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
                 .andExpect(status().isOk())
                 .andReturn();
 
@@ -227,7 +239,8 @@ class BookControllerTest {
                         .setPrice(createBookRequestDto.getPrice())
                         .setDescription(createBookRequestDto.getDescription())
                         .setCoverImage(createBookRequestDto.getCoverImage())
-                        .setCategoryIds(createBookRequestDto.getCategoryIds());
+                        .setCategoryIds(createBookRequestDto.getCategoryIds())
+                        .setVersion(1L);
 
         String jsonRequest = objectMapper.writeValueAsString(createBookRequestDto);
 
@@ -278,12 +291,16 @@ class BookControllerTest {
         List<BookDto> expected = new ArrayList<>();
         expected.add(new BookDto().setId(1L).setTitle("Title1").setAuthor("Author1")
                 .setIsbn("isbn1").setPrice(BigDecimal.valueOf(1.99)).setDescription("Description1")
-                .setCoverImage("CoverImage1").setCategoryIds(new HashSet<>()));
+                .setCoverImage("CoverImage1").setCategoryIds(new HashSet<>())
+                .setVersion(0L));
 
         // When
-        MvcResult result = mockMvc.perform(get("/books/search?titles=Title1")
+        MvcResult started = mockMvc.perform(get("/books/search?titles=Title1")
                         .contentType(MediaType.APPLICATION_JSON)
                         )
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
                 .andExpect(status().isOk())
                 .andReturn();
 
@@ -0,0 +1,95 @@
+package bookstore.model.id;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class SnowflakeIdGeneratorTest {
+    private static final long EPOCH = Instant.parse("2023-01-01T00:00:00Z").toEpochMilli();
+    private static final long NOW = EPOCH + 1_000_000;
+    private static final long NODE_ID = 7;
+    private static final int SEQUENCE_BITS = 12;
+    private static final int TIMESTAMP_SHIFT = 22;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    @Test
+    @DisplayName("""
+            Verify nextId() encodes the timestamp, node id and sequence
+            """)
+    void nextId_SameMillisecond_IncrementsSequence() {
+        //given
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(NODE_ID, () -> NOW);
+
+        //when
+        long first = generator.nextId();
+        long second = generator.nextId();
+
+        //then
+        assertEquals(first + 1, second);
+        assertEquals(NOW - EPOCH, first >>> TIMESTAMP_SHIFT);
+        assertEquals(NODE_ID, (first >>> SEQUENCE_BITS) & 1023);
+        assertEquals(0, first & SEQUENCE_MASK);
+    }
+
+    @Test
+    @DisplayName("""
+            Verify nextId() moves to the next millisecond when the sequence rolls over
+            """)
+    void nextId_SequenceExhausted_BorrowsNextMillisecond() {
+        //given
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(NODE_ID, () -> NOW);
+        long previous = generator.nextId();
+        for (int i = 0; i < SEQUENCE_MASK; i++) {
+            long id = generator.nextId();
+            assertTrue(id > previous);
+            previous = id;
+        }
+
+        //when
+        long rolledOver = generator.nextId();
+
+        //then
+        assertTrue(rolledOver > previous);
+        assertEquals(SEQUENCE_MASK, previous & SEQUENCE_MASK);
+        assertEquals(0, rolledOver & SEQUENCE_MASK);
+        assertEquals(NOW - EPOCH + 1, rolledOver >>> TIMESTAMP_SHIFT);
+        assertEquals(rolledOver + 1, generator.nextId());
+    }
+
+    @Test
+    @DisplayName("""
+            Verify nextId() keeps increasing when the clock goes backwards
+            """)
+    void nextId_ClockGoesBackwards_StaysMonotonic() {
+        //given
+        AtomicLong clock = new AtomicLong(NOW);
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(NODE_ID, clock::get);
+        long beforeRewind = generator.nextId();
+
+        //when
+        clock.set(NOW - 5_000);
+        long afterRewind = generator.nextId();
+        clock.set(NOW + 1);
+        long afterRecovery = generator.nextId();
+
+        //then
+        assertEquals(beforeRewind + 1, afterRewind);
+        assertEquals(NOW - EPOCH, afterRewind >>> TIMESTAMP_SHIFT);
+        assertEquals(NOW - EPOCH + 1, afterRecovery >>> TIMESTAMP_SHIFT);
+        assertEquals(0, afterRecovery & SEQUENCE_MASK);
+    }
+
+    @Test
+    @DisplayName("""
+            Verify the generator rejects node ids that do not fit in 10 bits
+            """)
+    void constructor_NodeIdOutOfRange_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdGenerator(1024));
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdGenerator(-1));
+    }
+}
@@ -0,0 +1,86 @@
+package bookstore.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest
+@Transactional
+@Sql(scripts = {
+        "classpath:database/books_categories/delete-all-test-books-categories.sql",
+        "classpath:database/books/delete-all-test-books.sql",
+        "classpath:database/categories/delete-all-test-categories.sql",
+        "classpath:database/books/insert-test-books.sql",
+        "classpath:database/categories/insert-test-categories.sql",
+        "classpath:database/books_categories/insert-test-books-categories.sql"
+})
+class CategoryBookCountRepositoryTest {
+    @Autowired
+    private CategoryBookCountRepository categoryBookCountRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("""
+            Verify adjustForBooks() changes only the categories of the given books
+            """)
+    void adjustForBooks_BooksInOneCategory_UpdatesThatCategory() {
+        //when
+        categoryBookCountRepository.adjustForBooks(List.of(1L, 2L, 3L), 1);
+
+        //then
+        assertEquals(List.of(2L, 0L, 0L), bookCounts());
+        assertEquals(List.of(1L, 0L, 0L), versions());
+    }
+
+    @Test
+    @DisplayName("""
+            Verify adjustForBooks() never lowers a count below zero
+            """)
+    void adjustForBooks_NegativeDelta_ClampsAtZero() {
+        //given
+        categoryBookCountRepository.adjustForBooks(List.of(1L), 1);
+
+        //when
+        categoryBookCountRepository.adjustForBooks(List.of(1L, 2L), -1);
+
+        //then
+        assertEquals(List.of(0L, 0L, 0L), bookCounts());
+    }
+
+    @Test
+    @DisplayName("""
+            Verify reconcile() recounts live books and touches only drifted categories
+            """)
+    void reconcile_DriftedCounts_RecountsNonDeletedBooks() {
+        //given
+        jdbcTemplate.update("UPDATE books SET is_deleted = TRUE WHERE id = 2");
+        jdbcTemplate.update("UPDATE categories SET book_count = 5 WHERE id = 2");
+
+        //when
+        int updated = categoryBookCountRepository.reconcile();
+
+        //then
+        assertEquals(2, updated);
+        assertEquals(List.of(1L, 0L, 0L), bookCounts());
+        assertEquals(List.of(1L, 1L, 0L), versions());
+        assertEquals(0, categoryBookCountRepository.reconcile());
+    }
+
+    private List<Long> bookCounts() {
+        return jdbcTemplate.queryForList("SELECT book_count FROM categories ORDER BY id",
+                Long.class);
+    }
+
+    private List<Long> versions() {
+        return jdbcTemplate.queryForList("SELECT version FROM categories ORDER BY id",
+                Long.class);
+    }
+}
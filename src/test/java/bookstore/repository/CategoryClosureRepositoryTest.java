@@ -0,0 +1,88 @@
+package bookstore.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest
+@Transactional
+@Sql(scripts = {
+        "classpath:database/categories/delete-all-test-categories.sql",
+        "classpath:database/categories/insert-test-categories.sql",
+        "classpath:database/category_closure/insert-test-category-closure.sql"
+})
+class CategoryClosureRepositoryTest {
+    @Autowired
+    private CategoryClosureRepository categoryClosureRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("""
+            Verify move() re-links a whole subtree under the new parent
+            """)
+    void move_SubtreeUnderNewParent_LinksAllDescendants() {
+        //when
+        categoryClosureRepository.move(2L, 1L);
+
+        //then
+        assertEquals(List.of("1-1-0", "1-2-1", "1-3-2", "2-2-0", "2-3-1", "3-3-0"), links());
+        assertTrue(categoryClosureRepository.isInSubtree(1L, 3L));
+    }
+
+    @Test
+    @DisplayName("""
+            Verify move() drops links to the old ancestors
+            """)
+    void move_LeafToAnotherParent_ReplacesAncestors() {
+        //when
+        categoryClosureRepository.move(3L, 1L);
+
+        //then
+        assertEquals(List.of("1-1-0", "1-3-1", "2-2-0", "3-3-0"), links());
+        assertFalse(categoryClosureRepository.isInSubtree(2L, 3L));
+    }
+
+    @Test
+    @DisplayName("""
+            Verify move() with no parent turns the category into a root
+            """)
+    void move_NullParent_KeepsOnlySubtreeLinks() {
+        //when
+        categoryClosureRepository.move(3L, null);
+
+        //then
+        assertEquals(List.of("1-1-0", "2-2-0", "3-3-0"), links());
+    }
+
+    @Test
+    @DisplayName("""
+            Verify findAllDescendants() leaves out deleted categories
+            """)
+    void findAllDescendants_DeletedDescendant_IsSkipped() {
+        //given
+        jdbcTemplate.update("UPDATE categories SET is_deleted = TRUE WHERE id = 3");
+
+        //when
+        Map<Long, List<Long>> actual = categoryClosureRepository.findAllDescendants();
+
+        //then
+        assertEquals(Map.of(1L, List.of(1L), 2L, List.of(2L)), actual);
+    }
+
+    private List<String> links() {
+        return jdbcTemplate.queryForList("SELECT CONCAT(ancestor_id, '-', descendant_id, '-', "
+                + "depth) FROM category_closure ORDER BY ancestor_id, descendant_id",
+                String.class);
+    }
+}
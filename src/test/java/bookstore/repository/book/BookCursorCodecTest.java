@@ -0,0 +1,135 @@
+package bookstore.repository.book;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import bookstore.exception.CustomGlobalExceptionHandler;
+import bookstore.exception.InvalidCursorException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+
+class BookCursorCodecTest {
+    private final BookCursorCodec bookCursorCodec = new BookCursorCodec(new ObjectMapper());
+
+    @Test
+    @DisplayName("""
+            Verify a decoded cursor has the encoded sort and keys
+            """)
+    void decode_EncodedCursor_ReturnsSameSortAndKeys() {
+        //given
+        Sort sort = Sort.by(Sort.Order.desc("price"), Sort.Order.asc("id"));
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("price", new BigDecimal("12.50"));
+        keys.put("id", 42L);
+        String cursor = bookCursorCodec.encode(sort, ScrollPosition.forward(keys));
+
+        //when
+        BookCursor actual = bookCursorCodec.decode(cursor, Sort.unsorted());
+
+        //then
+        assertEquals(sort, actual.sort());
+        assertEquals(keys, actual.position().getKeys());
+    }
+
+    @Test
+    @DisplayName("""
+            Verify decode() without a cursor appends id as the keyset tiebreaker
+            """)
+    void decode_NoCursor_AppendsIdToRequestedSort() {
+        //when
+        BookCursor actual = bookCursorCodec.decode(null, Sort.by("title"));
+
+        //then
+        assertEquals(Sort.by("title", "id"), actual.sort());
+        assertTrue(actual.position().isInitial());
+    }
+
+    @Test
+    @DisplayName("""
+            Verify decode() rejects properties outside the sortable whitelist
+            """)
+    void decode_NotSortableProperty_ThrowsInvalidCursorException() {
+        //given
+        String cursor = token("{\"sort\":[\"description,ASC\"],\"keys\":{\"description\":\"a\"}}");
+
+        //then
+        assertThrows(InvalidCursorException.class,
+                () -> bookCursorCodec.decode(null, Sort.by("description")));
+        assertThrows(InvalidCursorException.class,
+                () -> bookCursorCodec.decode(cursor, Sort.unsorted()));
+    }
+
+    @Test
+    @DisplayName("""
+            Verify decode() rejects garbage and tampered tokens
+            """)
+    void decode_TamperedCursor_ThrowsInvalidCursorException() {
+        //given
+        List<String> cursors = List.of("!!not-base64!!",
+                token("not json"),
+                token("{}"),
+                token("{\"sort\":[\"id,ASC\"],\"keys\":{}}"),
+                token("{\"sort\":[\"id,ASC\"],\"keys\":{\"id\":\"abc\"}}"),
+                token("{\"sort\":[\"id\"],\"keys\":{\"id\":\"1\"}}"));
+
+        //then
+        cursors.forEach(cursor -> assertThrows(InvalidCursorException.class,
+                () -> bookCursorCodec.decode(cursor, Sort.unsorted()), cursor));
+    }
+
+    @Test
+    @DisplayName("""
+            Verify decode() rejects a cursor issued for a different sort
+            """)
+    void decode_SortMismatch_ThrowsInvalidCursorException() {
+        //given
+        String cursor = bookCursorCodec.encode(Sort.by("title", "id"),
+                ScrollPosition.forward(Map.of("title", "Title1", "id", 1L)));
+
+        //then
+        assertEquals(Sort.by("title", "id"),
+                bookCursorCodec.decode(cursor, Sort.by("title")).sort());
+        assertThrows(InvalidCursorException.class,
+                () -> bookCursorCodec.decode(cursor, Sort.by("author")));
+        assertThrows(InvalidCursorException.class,
+                () -> bookCursorCodec.decode(cursor, Sort.by(Sort.Order.desc("title"))));
+    }
+
+    @Test
+    @DisplayName("""
+            Verify an invalid cursor is answered with 400 Bad Request
+            """)
+    void handleInvalidCursorException_InvalidCursor_ReturnsBadRequest() {
+        //given
+        InvalidCursorException exception = assertThrows(InvalidCursorException.class,
+                () -> bookCursorCodec.decode("garbage", Sort.unsorted()));
+
+        //when
+        ResponseEntity<?> actual = ReflectionTestUtils.invokeMethod(
+                new CustomGlobalExceptionHandler(), "handleInvalidCursorException",
+                exception, new ServletWebRequest(new MockHttpServletRequest()));
+
+        //then
+        assertEquals(HttpStatus.BAD_REQUEST, actual.getStatusCode());
+    }
+
+    private String token(String json) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
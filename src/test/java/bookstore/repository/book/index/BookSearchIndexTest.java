@@ -0,0 +1,173 @@
+package bookstore.repository.book.index;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import bookstore.dto.book.BookFacetsDto;
+import bookstore.dto.book.BookSearchParametersDto;
+import bookstore.model.Book;
+import bookstore.repository.CategoryTree;
+import bookstore.repository.book.BookRepository;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class BookSearchIndexTest {
+    private static final List<BookIndexEntry> ENTRIES = List.of(
+            entry(1L, "The Lord of the Rings", "J. R. R. Tolkien", "5", 1L),
+            entry(2L, "Lord Jim", "Joseph Conrad", "12", 1L, 2L),
+            entry(3L, "Ringworld", "Larry Niven", "15"));
+    @InjectMocks
+    private BookSearchIndex bookSearchIndex;
+    @Mock
+    private BookRepository bookRepository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private CategoryTree categoryTree;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(bookSearchIndex, "priceBucketWidth", BigDecimal.TEN);
+        ReflectionTestUtils.setField(bookSearchIndex, "maxIdFilterSize", 10_000);
+    }
+
+    @Test
+    @DisplayName("""
+            Verify findByTitles() matches whole tokens in any order
+            """)
+    void findByTitles_Phrases_MatchAllTokensInAnyOrder() {
+        //given
+        stubCatalog();
+
+        //then
+        assertArrayEquals(new long[]{1}, bookSearchIndex.findByTitles(new String[]{"rings LORD"}));
+        assertArrayEquals(new long[]{1, 2}, bookSearchIndex.findByTitles(new String[]{"lord"}));
+        assertArrayEquals(new long[0], bookSearchIndex.findByTitles(new String[]{"ring"}));
+        assertArrayEquals(new long[]{2, 3},
+                bookSearchIndex.findByTitles(new String[]{"jim", "ringworld"}));
+    }
+
+    @Test
+    @DisplayName("""
+            Verify the SQL token pattern agrees with the index on every phrase
+            """)
+    void toTokenPattern_Phrases_MatchSameTitlesAsIndex() {
+        //given
+        List<String> phrases = List.of("lord", "rings lord", "ring", "lord-of", "the the",
+                "world", "Ringworld", "jim lord!");
+
+        //then
+        for (String phrase : phrases) {
+            Pattern pattern = Pattern.compile(BookSearchIndex.toTokenPattern(phrase));
+            for (BookIndexEntry entry : ENTRIES) {
+                assertEquals(bookSearchIndex.matches(byTitle(phrase), entry),
+                        pattern.matcher(entry.title().toLowerCase(Locale.ROOT)).find(),
+                        phrase + " / " + entry.title());
+            }
+        }
+        assertNull(BookSearchIndex.toTokenPattern(" - "));
+    }
+
+    @Test
+    @DisplayName("""
+            Verify match() gives up on id filters larger than the configured cap
+            """)
+    void match_TooManyIds_ReturnsNoIds() {
+        //given
+        stubCatalog();
+        BookSearchParametersDto params = byTitle("lord");
+
+        //when
+        long[] uncapped = bookSearchIndex.match(params).ids();
+        ReflectionTestUtils.setField(bookSearchIndex, "maxIdFilterSize", 1);
+        IndexMatch capped = bookSearchIndex.match(params);
+
+        //then
+        assertArrayEquals(new long[]{1, 2}, uncapped);
+        assertNull(capped.ids());
+    }
+
+    @Test
+    @DisplayName("""
+            Verify changes made while rebuilding are replayed onto the new index
+            """)
+    void rebuild_ChangeDuringLoad_IsReplayed() {
+        //given
+        stubCatalog();
+        bookSearchIndex.rebuild();
+        Book book = new Book();
+        book.setId(4L);
+        book.setTitle("Dune");
+        book.setAuthor("Frank Herbert");
+        book.setIsbn("4");
+        book.setPrice(BigDecimal.ONE);
+        when(bookRepository.findAllIndexEntries()).thenAnswer(invocation -> {
+            bookSearchIndex.index(book);
+            return ENTRIES;
+        });
+
+        //when
+        bookSearchIndex.rebuild();
+
+        //then
+        assertArrayEquals(new long[]{4}, bookSearchIndex.findByTitles(new String[]{"dune"}));
+        verify(eventPublisher).publishEvent(argThat((BookIndexChangedEvent event) ->
+                event.current().size() == 1 && event.current().get(0).id() == 4L));
+    }
+
+    @Test
+    @DisplayName("""
+            Verify countFacets() counts categories, authors and price buckets of the ids
+            """)
+    void countFacets_Ids_CountsMatchedEntries() {
+        //given
+        stubCatalog();
+
+        //when
+        BookFacetsDto actual = bookSearchIndex.countFacets(new long[]{1, 2, 99});
+
+        //then
+        assertEquals(Map.of(1L, 2L, 2L, 1L), actual.getCategories());
+        assertEquals(Map.of("J. R. R. Tolkien", 1L, "Joseph Conrad", 1L), actual.getAuthors());
+        assertEquals(Map.of("0-10", 1L, "10-20", 1L), actual.getPrices());
+        assertEquals(Map.of("0-10", 1L, "10-20", 2L),
+                bookSearchIndex.countAllFacets().getPrices());
+        assertEquals(actual, bookSearchIndex.countFacets(List.of(1L, 2L)));
+    }
+
+    private void stubCatalog() {
+        when(bookRepository.findAllIndexEntries()).thenReturn(ENTRIES);
+        when(bookRepository.findAllCategoryLinks()).thenReturn(List.of(
+                new BookCategoryLink(1L, 1L),
+                new BookCategoryLink(2L, 1L),
+                new BookCategoryLink(2L, 2L)));
+    }
+
+    private static BookIndexEntry entry(Long id, String title, String author, String price,
+                                        long... categoryIds) {
+        return new BookIndexEntry(id, title, author, "isbn" + id, new BigDecimal(price),
+                categoryIds);
+    }
+
+    private BookSearchParametersDto byTitle(String title) {
+        return new BookSearchParametersDto(null, new String[]{title}, null, null, null,
+                null, null);
+    }
+}
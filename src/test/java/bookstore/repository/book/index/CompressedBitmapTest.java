@@ -0,0 +1,120 @@
+package bookstore.repository.book.index;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class CompressedBitmapTest {
+    private static final long CHUNK = 1L << 16;
+
+    @Test
+    @DisplayName("""
+            Verify added values are returned sorted and without duplicates
+            """)
+    void add_UnsortedValues_ToArrayReturnsSortedDistinctValues() {
+        //given
+        CompressedBitmap bitmap = of(5, CHUNK + 3, 1, 5, 70_000, 2);
+
+        //when
+        long[] actual = bitmap.toArray();
+
+        //then
+        assertArrayEquals(new long[]{1, 2, 5, CHUNK + 3, 70_000}, actual);
+        assertEquals(5, bitmap.cardinality());
+        assertTrue(bitmap.contains(CHUNK + 3));
+        assertFalse(bitmap.contains(3));
+    }
+
+    @Test
+    @DisplayName("""
+            Verify a dense chunk switches to a bitmap container and back on removal
+            """)
+    void add_MoreThanArrayLimit_KeepsAllValues() {
+        //given
+        CompressedBitmap bitmap = new CompressedBitmap();
+        LongStream.range(0, 10_000).map(i -> i * 3).forEach(bitmap::add);
+
+        //when
+        LongStream.range(0, 6_000).map(i -> i * 3).forEach(bitmap::remove);
+
+        //then
+        assertEquals(4_000, bitmap.cardinality());
+        assertArrayEquals(LongStream.range(6_000, 10_000).map(i -> i * 3).toArray(),
+                bitmap.toArray());
+        assertFalse(bitmap.contains(0));
+        assertTrue(bitmap.contains(29_997));
+    }
+
+    @Test
+    @DisplayName("""
+            Verify removing the last value of a chunk empties the bitmap
+            """)
+    void remove_AllValues_BitmapIsEmpty() {
+        //given
+        CompressedBitmap bitmap = of(1, CHUNK + 1);
+
+        //when
+        bitmap.remove(1);
+        bitmap.remove(CHUNK + 1);
+        bitmap.remove(42);
+
+        //then
+        assertTrue(bitmap.isEmpty());
+        assertArrayEquals(new long[0], bitmap.toArray());
+    }
+
+    @Test
+    @DisplayName("""
+            Verify or() returns the union of array and bitmap containers
+            """)
+    void or_MixedContainers_ReturnsUnion() {
+        //given
+        CompressedBitmap sparse = of(1, 3, CHUNK + 1);
+        CompressedBitmap dense = new CompressedBitmap();
+        LongStream.range(2, 5_002).forEach(dense::add);
+
+        //when
+        CompressedBitmap actual = CompressedBitmap.or(sparse, dense);
+
+        //then
+        assertEquals(5_002, actual.cardinality());
+        assertTrue(actual.contains(1));
+        assertTrue(actual.contains(CHUNK + 1));
+        assertEquals(3, sparse.cardinality());
+        assertEquals(5_000, dense.cardinality());
+    }
+
+    @Test
+    @DisplayName("""
+            Verify and() returns the intersection and drops empty chunks
+            """)
+    void and_OverlappingBitmaps_ReturnsIntersection() {
+        //given
+        CompressedBitmap first = new CompressedBitmap();
+        CompressedBitmap second = new CompressedBitmap();
+        LongStream.range(0, 6_000).forEach(first::add);
+        LongStream.range(4_000, 10_000).forEach(second::add);
+        first.add(CHUNK + 1);
+        second.add(CHUNK + 2);
+
+        //when
+        CompressedBitmap actual = CompressedBitmap.and(first, second);
+
+        //then
+        assertArrayEquals(LongStream.range(4_000, 6_000).toArray(), actual.toArray());
+        assertFalse(actual.contains(CHUNK + 1));
+    }
+
+    private CompressedBitmap of(long... values) {
+        CompressedBitmap bitmap = new CompressedBitmap();
+        for (long value : values) {
+            bitmap.add(value);
+        }
+        return bitmap;
+    }
+}
@@ -0,0 +1,106 @@
+package bookstore.repository.book.index;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class PriceIndexTest {
+    @Test
+    @DisplayName("""
+            Verify of() orders books by price, then by id
+            """)
+    void of_UnsortedPairs_PagesInPriceThenIdOrder() {
+        //given
+        PriceIndex index = PriceIndex.of(new long[]{5, 3, 9, 1}, new long[]{200, 100, 100, 300});
+
+        //when
+        long[] ascending = index.page(false, 0, 10);
+        long[] descending = index.page(true, 0, 10);
+
+        //then
+        assertEquals(4, index.size());
+        assertArrayEquals(new long[]{3, 9, 5, 1}, ascending);
+        assertArrayEquals(new long[]{1, 5, 3, 9}, descending);
+    }
+
+    @Test
+    @DisplayName("""
+            Verify page() applies the offset and limit in both directions
+            """)
+    void page_OffsetAndLimit_ReturnsSlice() {
+        //given
+        PriceIndex index = PriceIndex.of(new long[]{1, 2, 3, 4}, new long[]{10, 20, 20, 30});
+
+        //when
+        long[] ascending = index.page(false, 1, 2);
+        long[] descending = index.page(true, 1, 2);
+        long[] beyondEnd = index.page(false, 10, 2);
+
+        //then
+        assertArrayEquals(new long[]{2, 3}, ascending);
+        assertArrayEquals(new long[]{2, 3}, descending);
+        assertArrayEquals(new long[0], beyondEnd);
+    }
+
+    @Test
+    @DisplayName("""
+            Verify range() and count() include both bounds and return ids sorted
+            """)
+    void range_InclusiveBounds_ReturnsSortedIds() {
+        //given
+        PriceIndex index = PriceIndex.of(new long[]{8, 2, 6, 4}, new long[]{100, 150, 200, 250});
+
+        //when
+        long[] actual = index.range(150, 250);
+
+        //then
+        assertArrayEquals(new long[]{2, 4, 6}, actual);
+        assertEquals(3, index.count(150, 250));
+        assertEquals(0, index.count(300, 400));
+        assertArrayEquals(new long[0], index.range(250, 150));
+    }
+
+    @Test
+    @DisplayName("""
+            Verify add() and remove() keep the index sorted and reject duplicates
+            """)
+    void addAndRemove_IncrementalUpdates_KeepOrder() {
+        //given
+        PriceIndex index = new PriceIndex();
+        for (long id = 1; id <= 40; id++) {
+            index.add(id, 1_000 - id * 10);
+        }
+
+        //when
+        boolean duplicate = index.add(40, 600);
+        boolean removed = index.remove(1, 990);
+        boolean missing = index.remove(1, 990);
+
+        //then
+        assertFalse(duplicate);
+        assertTrue(removed);
+        assertFalse(missing);
+        assertEquals(39, index.size());
+        assertArrayEquals(new long[]{40, 39, 38}, index.page(false, 0, 3));
+        assertArrayEquals(new long[]{2, 3}, index.page(true, 0, 2));
+    }
+
+    @Test
+    @DisplayName("""
+            Verify toCents() rounds with the given mode and clamps to the long range
+            """)
+    void toCents_FractionalAndHugePrices_RoundsAndClamps() {
+        assertEquals(1999, PriceIndex.toCents(new BigDecimal("19.999"), RoundingMode.FLOOR));
+        assertEquals(2000, PriceIndex.toCents(new BigDecimal("19.991"), RoundingMode.CEILING));
+        assertEquals(Long.MAX_VALUE,
+                PriceIndex.toCents(new BigDecimal("1e30"), RoundingMode.FLOOR));
+        assertEquals(Long.MIN_VALUE,
+                PriceIndex.toCents(new BigDecimal("-1e30"), RoundingMode.FLOOR));
+    }
+}
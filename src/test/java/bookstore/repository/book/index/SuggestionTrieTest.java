@@ -0,0 +1,99 @@
+package bookstore.repository.book.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import bookstore.dto.book.BookSuggestionDto;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class SuggestionTrieTest {
+    private static final String TITLE = "title";
+    private static final String AUTHOR = "author";
+
+    @Test
+    @DisplayName("""
+            Verify complete() returns the heaviest completions first
+            """)
+    void complete_SharedPrefix_ReturnsByWeightDescending() {
+        //given
+        SuggestionTrie trie = new SuggestionTrie();
+        trie.add(TITLE, "Harry Potter", 5);
+        trie.add(TITLE, "Hamlet", 20);
+        trie.add(AUTHOR, "Harper Lee", 10);
+
+        //when
+        List<BookSuggestionDto> actual = trie.complete("ha", 10);
+
+        //then
+        assertEquals(List.of("Hamlet", "Harper Lee", "Harry Potter"), texts(actual));
+        assertEquals(AUTHOR, actual.get(1).getField());
+        assertEquals(20, actual.get(0).getPopularity());
+    }
+
+    @Test
+    @DisplayName("""
+            Verify complete() matches the start of any word, case-insensitively
+            """)
+    void complete_InnerWordPrefix_ReturnsCompletion() {
+        //given
+        SuggestionTrie trie = new SuggestionTrie();
+        trie.add(TITLE, "The Lord of the Rings", 1);
+
+        //when
+        List<BookSuggestionDto> actual = trie.complete("RIN", 10);
+
+        //then
+        assertEquals(List.of("The Lord of the Rings"), texts(actual));
+        assertTrue(trie.complete("ings", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("""
+            Verify complete() stops at the limit and returns each completion once
+            """)
+    void complete_Limit_ReturnsDistinctTopCompletions() {
+        //given
+        SuggestionTrie trie = new SuggestionTrie();
+        trie.add(TITLE, "Dune Dune", 3);
+        trie.add(TITLE, "Dune Messiah", 2);
+        trie.add(TITLE, "Dunes", 1);
+
+        //when
+        List<BookSuggestionDto> actual = trie.complete("dune", 2);
+
+        //then
+        assertEquals(List.of("Dune Dune", "Dune Messiah"), texts(actual));
+    }
+
+    @Test
+    @DisplayName("""
+            Verify a text shared by several books stays until its last book is removed
+            """)
+    void remove_SharedText_KeepsCompletionUntilLastBook() {
+        //given
+        SuggestionTrie trie = new SuggestionTrie();
+        trie.add(AUTHOR, "Terry Pratchett", 4);
+        trie.add(AUTHOR, "Terry Pratchett", 6);
+        trie.add(AUTHOR, "Tolkien", 5);
+
+        //when
+        trie.remove(AUTHOR, "Terry Pratchett", 6);
+        List<BookSuggestionDto> afterFirstRemoval = trie.complete("t", 10);
+        trie.remove(AUTHOR, "Terry Pratchett", 4);
+        List<BookSuggestionDto> afterLastRemoval = trie.complete("t", 10);
+
+        //then
+        assertEquals(List.of("Tolkien", "Terry Pratchett"), texts(afterFirstRemoval));
+        assertEquals(4, afterFirstRemoval.get(1).getPopularity());
+        assertEquals(List.of("Tolkien"), texts(afterLastRemoval));
+        assertTrue(trie.complete("pra", 10).isEmpty());
+    }
+
+    private List<String> texts(List<BookSuggestionDto> suggestions) {
+        return suggestions.stream()
+                .map(BookSuggestionDto::getText)
+                .toList();
+    }
+}
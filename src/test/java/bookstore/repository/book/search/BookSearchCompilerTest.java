@@ -0,0 +1,131 @@
+package bookstore.repository.book.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import bookstore.dto.book.BookSearchParametersDto;
+import bookstore.dto.cache.CacheStatsDto;
+import bookstore.repository.book.index.BookSearchIndex;
+import bookstore.repository.book.index.IndexMatch;
+import java.util.HashSet;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class BookSearchCompilerTest {
+    @InjectMocks
+    private BookSearchCompiler bookSearchCompiler;
+    @Mock
+    private BookSearchIndex bookSearchIndex;
+
+    @Test
+    @DisplayName("""
+            Verify searches whose sizes fall in the same bucket share one plan
+            """)
+    void compile_SameBucket_ReusesPlan() {
+        //given
+        when(bookSearchIndex.match(any())).thenReturn(new IndexMatch(null, false, false));
+
+        //when
+        CompiledBookSearch three = bookSearchCompiler.compile(byIsbns("1", "2", "3"));
+        CompiledBookSearch four = bookSearchCompiler.compile(byIsbns("4", "5", "6", "7"));
+        CompiledBookSearch five = bookSearchCompiler.compile(byIsbns("1", "2", "3", "4", "5"));
+
+        //then
+        assertSame(three.plan(), four.plan());
+        assertNotSame(four.plan(), five.plan());
+        assertEquals(4, three.plan().shape().isbns());
+        assertEquals(8, five.plan().shape().isbns());
+    }
+
+    @Test
+    @DisplayName("""
+            Verify padding repeats an existing value and keeps the bound value set
+            """)
+    void compile_PaddedParameters_KeepSameValues() {
+        //given
+        when(bookSearchIndex.match(any())).thenReturn(new IndexMatch(null, false, false));
+
+        //when
+        CompiledBookSearch actual = bookSearchCompiler.compile(byIsbns("1", "2", "3"));
+
+        //then
+        List<?> isbns = (List<?>) actual.parameters().get("isbns");
+        assertEquals(4, isbns.size());
+        assertEquals(new HashSet<>(List.of("1", "2", "3")), new HashSet<>(isbns));
+        assertFalse(actual.indexOnly());
+    }
+
+    @Test
+    @DisplayName("""
+            Verify index-resolved ids are padded to their bucket and need no other predicate
+            """)
+    void compile_IndexResolvedIds_PadsIdsAndIsIndexOnly() {
+        //given
+        BookSearchParametersDto params = new BookSearchParametersDto(new String[]{"tolkien"},
+                null, null, null, null, null, null);
+        when(bookSearchIndex.match(params)).thenReturn(new IndexMatch(new long[]{3, 5, 9},
+                false, false));
+
+        //when
+        CompiledBookSearch actual = bookSearchCompiler.compile(params);
+
+        //then
+        assertTrue(actual.indexOnly());
+        assertEquals(List.of(3L, 5L, 9L, 9L), actual.parameters().get("ids"));
+        assertEquals("SELECT b.id FROM Book b WHERE b.id IN :ids", actual.plan().idQuery());
+    }
+
+    @Test
+    @DisplayName("""
+            Verify an empty index match compiles to an empty search without a plan
+            """)
+    void compile_NoIndexMatches_ReturnsEmptySearch() {
+        //given
+        BookSearchParametersDto params = new BookSearchParametersDto(new String[]{"nobody"},
+                null, null, null, null, null, null);
+        when(bookSearchIndex.match(params)).thenReturn(new IndexMatch(new long[0], false, false));
+
+        //when
+        CompiledBookSearch actual = bookSearchCompiler.compile(params);
+
+        //then
+        assertTrue(actual.isEmpty());
+        assertEquals(0, bookSearchCompiler.getStats().getMisses());
+    }
+
+    @Test
+    @DisplayName("""
+            Verify getStats() counts plan cache hits and misses
+            """)
+    void getStats_RepeatedShapes_CountsHitsAndMisses() {
+        //given
+        when(bookSearchIndex.match(any())).thenReturn(new IndexMatch(null, false, false));
+
+        //when
+        bookSearchCompiler.compile(byIsbns("1"));
+        bookSearchCompiler.compile(byIsbns("2"));
+        bookSearchCompiler.compile(byIsbns("1", "2"));
+        bookSearchCompiler.compile(byIsbns("3"));
+        CacheStatsDto actual = bookSearchCompiler.getStats();
+
+        //then
+        assertEquals(2, actual.getMisses());
+        assertEquals(2, actual.getHits());
+        assertEquals(2, actual.getSize());
+    }
+
+    private BookSearchParametersDto byIsbns(String... isbns) {
+        return new BookSearchParametersDto(null, null, isbns, null, null, null, null);
+    }
+}
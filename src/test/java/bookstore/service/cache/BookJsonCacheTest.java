@@ -0,0 +1,200 @@
+package bookstore.service.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import bookstore.dto.book.BookDto;
+import bookstore.dto.cache.CacheStatsDto;
+import bookstore.repository.book.index.BookIndexChangedEvent;
+import bookstore.repository.book.index.BookIndexEntry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class BookJsonCacheTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private BookJsonCache bookJsonCache;
+
+    @BeforeEach
+    void setUp() {
+        bookJsonCache = new BookJsonCache(objectMapper);
+        ReflectionTestUtils.setField(bookJsonCache, "maxBytes", 1_000_000L);
+    }
+
+    @Test
+    @DisplayName("""
+            Verify the same (id, version) is serialized once and then served from the cache
+            """)
+    void write_SameIdAndVersion_ServesCachedJson() throws IOException {
+        //given
+        BookDto book = getBookDto(1L, 0L, "Title1");
+
+        //when
+        String first = write(book);
+        String second = write(book.setTitle("Changed without a version bump"));
+
+        //then
+        assertEquals(objectMapper.writeValueAsString(getBookDto(1L, 0L, "Title1")), first);
+        assertEquals(first, second);
+        assertStats(1, 1, 1);
+    }
+
+    @Test
+    @DisplayName("""
+            Verify a newer version replaces the cached JSON
+            """)
+    void write_NewerVersion_ReplacesCachedJson() throws IOException {
+        //given
+        write(getBookDto(1L, 0L, "Title1"));
+        BookDto updated = getBookDto(1L, 1L, "Title2");
+
+        //when
+        String actual = write(updated);
+
+        //then
+        assertEquals(objectMapper.writeValueAsString(updated), actual);
+        assertEquals(actual, write(updated));
+        assertStats(1, 1, 2);
+    }
+
+    @Test
+    @DisplayName("""
+            Verify an older version is serialized fresh but never replaces a newer entry
+            """)
+    void write_OlderVersion_KeepsNewerEntry() throws IOException {
+        //given
+        BookDto newer = getBookDto(1L, 2L, "Newer");
+        BookDto older = getBookDto(1L, 1L, "Older");
+        write(newer);
+
+        //when
+        String actual = write(older);
+
+        //then
+        assertEquals(objectMapper.writeValueAsString(older), actual);
+        assertEquals(objectMapper.writeValueAsString(newer), write(newer));
+        assertStats(1, 1, 2);
+    }
+
+    @Test
+    @DisplayName("""
+            Verify an index change evicts the changed books only
+            """)
+    void onBookIndexChanged_ChangedBook_EvictsItsEntry() throws IOException {
+        //given
+        write(getBookDto(1L, 0L, "Title1"));
+        write(getBookDto(2L, 0L, "Title2"));
+        BookIndexEntry entry = new BookIndexEntry(1L, "Title1", "Author", "isbn",
+                BigDecimal.ONE);
+
+        //when
+        bookJsonCache.onBookIndexChanged(BookIndexChangedEvent.of(entry, null));
+        write(getBookDto(1L, 0L, "Title1"));
+        write(getBookDto(2L, 0L, "Title2"));
+
+        //then
+        assertStats(2, 1, 3);
+    }
+
+    @Test
+    @DisplayName("""
+            Verify a full index rebuild clears the cache
+            """)
+    void onBookIndexChanged_FullRebuild_ClearsCache() throws IOException {
+        //given
+        write(getBookDto(1L, 0L, "Title1"));
+
+        //when
+        bookJsonCache.onBookIndexChanged(BookIndexChangedEvent.rebuilt());
+
+        //then
+        assertEquals(0, bookJsonCache.getStats().getSize());
+    }
+
+    @Test
+    @DisplayName("""
+            Verify books without a version are serialized but not cached
+            """)
+    void write_NoVersion_IsNotCached() throws IOException {
+        //given
+        BookDto book = getBookDto(1L, null, "Title1");
+
+        //when
+        write(book);
+        write(book);
+
+        //then
+        assertStats(0, 0, 0);
+    }
+
+    @Test
+    @DisplayName("""
+            Verify a list is written as a JSON array of the cached entries
+            """)
+    void write_List_WritesJsonArray() throws IOException {
+        //given
+        List<BookDto> books = List.of(getBookDto(1L, 0L, "Title1"), getBookDto(2L, 0L, "Title2"));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        //when
+        bookJsonCache.write(books, outputStream);
+
+        //then
+        assertEquals(objectMapper.writeValueAsString(books),
+                outputStream.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("""
+            Verify the least recently used entries are evicted above the byte budget
+            """)
+    void write_OverByteBudget_EvictsLeastRecentlyUsed() throws IOException {
+        //given
+        int entrySize = objectMapper.writeValueAsBytes(getBookDto(1L, 0L, "Title1")).length;
+        ReflectionTestUtils.setField(bookJsonCache, "maxBytes", 2L * entrySize);
+        write(getBookDto(1L, 0L, "Title1"));
+        write(getBookDto(2L, 0L, "Title2"));
+        write(getBookDto(1L, 0L, "Title1"));
+
+        //when
+        write(getBookDto(3L, 0L, "Title3"));
+
+        //then
+        CacheStatsDto stats = bookJsonCache.getStats();
+        assertEquals(2, stats.getSize());
+        assertEquals(1, stats.getEvictions());
+        write(getBookDto(1L, 0L, "Title1"));
+        assertEquals(2, bookJsonCache.getStats().getHits());
+    }
+
+    private String write(BookDto book) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        bookJsonCache.write(book, outputStream);
+        return outputStream.toString(StandardCharsets.UTF_8);
+    }
+
+    private void assertStats(long size, long hits, long misses) {
+        CacheStatsDto stats = bookJsonCache.getStats();
+        assertEquals(size, stats.getSize());
+        assertEquals(hits, stats.getHits());
+        assertEquals(misses, stats.getMisses());
+    }
+
+    private BookDto getBookDto(Long id, Long version, String title) {
+        return new BookDto()
+                .setId(id)
+                .setTitle(title)
+                .setAuthor("Author")
+                .setIsbn("isbn" + id)
+                .setPrice(BigDecimal.TEN)
+                .setCategoryIds(new HashSet<>())
+                .setVersion(version);
+    }
+}
@@ -0,0 +1,180 @@
+package bookstore.service.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import bookstore.dto.book.BookDto;
+import bookstore.dto.book.BookSearchParametersDto;
+import bookstore.repository.CategoryTreeChangedEvent;
+import bookstore.repository.book.index.BookIndexChangedEvent;
+import bookstore.repository.book.index.BookIndexEntry;
+import bookstore.repository.book.index.BookSearchIndex;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class BookSearchCacheTest {
+    private static final Pageable PAGEABLE = PageRequest.of(0, 10);
+    @InjectMocks
+    private BookSearchCache bookSearchCache;
+    @Mock
+    private BookSearchIndex bookSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(bookSearchCache, "maxWeight", 50_000L);
+    }
+
+    @Test
+    @DisplayName("""
+            Verify get() serves a repeated search from the cache
+            """)
+    void get_RepeatedSearch_LoadsOnce() {
+        //given
+        CountingLoader loader = new CountingLoader(List.of(book(1L)));
+
+        //when
+        bookSearchCache.get(byAuthor("tolkien"), PAGEABLE, loader);
+        List<BookDto> actual = bookSearchCache.get(byAuthor("Tolkien"), PAGEABLE, loader);
+
+        //then
+        assertEquals(List.of(book(1L)), actual);
+        assertEquals(1, loader.calls.get());
+        assertEquals(1, bookSearchCache.getStats().getHits());
+        assertEquals(1, bookSearchCache.getStats().getMisses());
+    }
+
+    @Test
+    @DisplayName("""
+            Verify a result loaded while the index changed is not cached
+            """)
+    void get_IndexChangedDuringLoad_DoesNotCacheStaleResult() {
+        //given
+        CountingLoader loader = new CountingLoader(List.of(book(1L)));
+        Supplier<List<BookDto>> racingLoader = () -> {
+            bookSearchCache.onCategoryTreeChanged(new CategoryTreeChangedEvent());
+            return loader.get();
+        };
+
+        //when
+        bookSearchCache.get(byAuthor("tolkien"), PAGEABLE, racingLoader);
+        bookSearchCache.get(byAuthor("tolkien"), PAGEABLE, loader);
+
+        //then
+        assertEquals(2, loader.calls.get());
+        assertEquals(0, bookSearchCache.getStats().getHits());
+    }
+
+    @Test
+    @DisplayName("""
+            Verify the least recently used result is evicted once the weight is exceeded
+            """)
+    void get_WeightExceeded_EvictsLeastRecentlyUsed() {
+        //given
+        ReflectionTestUtils.setField(bookSearchCache, "maxWeight", 2L);
+        CountingLoader loader = new CountingLoader(List.of(book(1L)));
+        bookSearchCache.get(byAuthor("a"), PAGEABLE, loader);
+        bookSearchCache.get(byAuthor("b"), PAGEABLE, loader);
+        bookSearchCache.get(byAuthor("a"), PAGEABLE, loader);
+
+        //when
+        bookSearchCache.get(byAuthor("c"), PAGEABLE, loader);
+        bookSearchCache.get(byAuthor("a"), PAGEABLE, loader);
+        bookSearchCache.get(byAuthor("b"), PAGEABLE, loader);
+
+        //then
+        assertEquals(4, loader.calls.get());
+        assertEquals(2, bookSearchCache.getStats().getEvictions());
+        assertEquals(2, bookSearchCache.getStats().getSize());
+    }
+
+    @Test
+    @DisplayName("""
+            Verify an index change drops results the entry matches or is a member of
+            """)
+    void onBookIndexChanged_MatchingOrMemberEntry_DropsOnlyAffectedResults() {
+        //given
+        BookSearchParametersDto matching = byAuthor("a");
+        BookSearchParametersDto unrelated = byAuthor("c");
+        CountingLoader loader = new CountingLoader(List.of(book(1L)));
+        bookSearchCache.get(matching, PAGEABLE, loader);
+        bookSearchCache.get(byAuthor("b"), PAGEABLE, new CountingLoader(List.of(book(2L))));
+        bookSearchCache.get(unrelated, PAGEABLE, loader);
+        BookIndexEntry current = entry(2L, "New title");
+        when(bookSearchIndex.matches(any(), any())).thenReturn(false);
+        when(bookSearchIndex.matches(matching, current)).thenReturn(true);
+
+        //when
+        bookSearchCache.onBookIndexChanged(new BookIndexChangedEvent(
+                List.of(entry(2L, "Old title")), List.of(current), false));
+
+        //then
+        assertEquals(1, bookSearchCache.getStats().getSize());
+        bookSearchCache.get(unrelated, PAGEABLE, loader);
+        assertEquals(1, bookSearchCache.getStats().getHits());
+    }
+
+    @Test
+    @DisplayName("""
+            Verify a full rebuild and a category tree change drop the expected results
+            """)
+    void onEvents_RebuildAndTreeChange_DropResults() {
+        //given
+        BookSearchParametersDto subcategories = new BookSearchParametersDto(null, null, null,
+                null, new String[]{"1"}, null, true);
+        CountingLoader loader = new CountingLoader(List.of(book(1L)));
+        bookSearchCache.get(subcategories, PAGEABLE, loader);
+        bookSearchCache.get(byAuthor("a"), PAGEABLE, loader);
+
+        //when
+        bookSearchCache.onCategoryTreeChanged(new CategoryTreeChangedEvent());
+        long afterTreeChange = bookSearchCache.getStats().getSize();
+        bookSearchCache.onBookIndexChanged(BookIndexChangedEvent.rebuilt());
+
+        //then
+        assertEquals(1, afterTreeChange);
+        assertEquals(0, bookSearchCache.getStats().getSize());
+    }
+
+    private BookSearchParametersDto byAuthor(String author) {
+        return new BookSearchParametersDto(new String[]{author}, null, null, null, null,
+                null, null);
+    }
+
+    private BookDto book(Long id) {
+        return new BookDto().setId(id);
+    }
+
+    private BookIndexEntry entry(Long id, String title) {
+        return new BookIndexEntry(id, title, "Author", "isbn" + id, BigDecimal.TEN,
+                new long[0]);
+    }
+
+    private static class CountingLoader implements Supplier<List<BookDto>> {
+        private final AtomicInteger calls = new AtomicInteger();
+        private final List<BookDto> books;
+
+        CountingLoader(List<BookDto> books) {
+            this.books = books;
+        }
+
+        @Override
+        public List<BookDto> get() {
+            calls.incrementAndGet();
+            return books;
+        }
+    }
+}
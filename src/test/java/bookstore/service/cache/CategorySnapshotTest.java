@@ -0,0 +1,83 @@
+package bookstore.service.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import bookstore.dto.category.CategoryDto;
+import bookstore.service.CategoryService;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.jdbc.Sql;
+
+@SpringBootTest(properties = "bookstore.category-snapshot.enabled=true")
+@Sql(scripts = {
+        "classpath:database/books_categories/delete-all-test-books-categories.sql",
+        "classpath:database/categories/delete-all-test-categories.sql",
+        "classpath:database/categories/insert-test-categories.sql"
+})
+@Sql(scripts = "classpath:database/categories/delete-all-test-categories.sql",
+        executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+class CategorySnapshotTest {
+    @Autowired
+    private CategoryService categoryService;
+    @Autowired
+    private CategorySnapshot categorySnapshot;
+
+    @Test
+    @DisplayName("""
+            Verify findById() is served from the snapshot and hands out copies
+            """)
+    void findById_MutatedResult_KeepsSnapshotIntact() {
+        //given
+        categoryService.findById(1L);
+        long hits = categorySnapshot.getStats().getHits();
+
+        //when
+        categoryService.findById(1L).setName("Changed");
+        CategoryDto actual = categoryService.findById(1L);
+
+        //then
+        assertEquals("Name1", actual.getName());
+        assertEquals(hits + 2, categorySnapshot.getStats().getHits());
+    }
+
+    @Test
+    @DisplayName("""
+            Verify update() swaps the renamed category into the id and name lookups
+            """)
+    void update_RenamedCategory_ReplacesSnapshotEntry() {
+        //given
+        categoryService.findById(2L);
+
+        //when
+        categoryService.update(2L, new CategoryDto()
+                .setName("Renamed")
+                .setDescription("Description2"));
+
+        //then
+        assertEquals("Renamed", categoryService.findById(2L).getName());
+        assertEquals(List.of("Renamed"), names(categoryService.findByName("renamed")));
+        assertTrue(categoryService.findByName("Name2").isEmpty());
+    }
+
+    @Test
+    @DisplayName("""
+            Verify findByName() ignores case
+            """)
+    void findByName_DifferentCase_ReturnsMatchingCategories() {
+        //when
+        List<CategoryDto> actual = categoryService.findByName("NAME3");
+
+        //then
+        assertEquals(List.of("Name3"), names(actual));
+    }
+
+    private List<String> names(List<CategoryDto> categories) {
+        return categories.stream()
+                .map(CategoryDto::getName)
+                .toList();
+    }
+}
@@ -0,0 +1,105 @@
+package bookstore.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import bookstore.dto.book.BookDto;
+import bookstore.exception.EntityNotFoundException;
+import bookstore.exception.InvalidCoverImageException;
+import bookstore.repository.book.BookRepository;
+import bookstore.service.BookService;
+import bookstore.service.cover.CoverImageFormat;
+import bookstore.service.cover.CoverImageStore;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.http.MediaType;
+
+@ExtendWith(MockitoExtension.class)
+class BookCoverServiceImplTest {
+    private static final String COVER_NAME =
+            "717d78fb3c5f11deafab82c9124b6b9650ed23d77db2e52f5b7c638bff4d694d.png";
+    @InjectMocks
+    private BookCoverServiceImpl bookCoverServiceImpl;
+    @Mock
+    private BookService bookService;
+    @Mock
+    private BookRepository bookRepository;
+    @Mock
+    private CoverImageStore coverImageStore;
+    @Mock
+    private TaskExecutor applicationTaskExecutor;
+
+    @Test
+    @DisplayName("""
+            Verify uploadCover() stores the image and points the book at its content hash
+            """)
+    void uploadCover_ValidPng_StoresImageAndUpdatesBook() throws IOException {
+        //given
+        Long bookId = 1L;
+        BookDto expected = new BookDto().setId(bookId).setCoverImage(COVER_NAME);
+        when(bookRepository.existsById(bookId)).thenReturn(true);
+        when(coverImageStore.store(any(InputStream.class), any(CoverImageFormat.class)))
+                .thenReturn(COVER_NAME);
+        when(bookService.updateCoverImage(bookId, COVER_NAME)).thenReturn(expected);
+
+        //when
+        BookDto actual = bookCoverServiceImpl.uploadCover(bookId, MediaType.IMAGE_PNG,
+                new ByteArrayInputStream(new byte[]{(byte) 0x89, 'P', 'N', 'G', 0x0D, 0x0A}));
+
+        //then
+        assertEquals(expected, actual);
+        verify(applicationTaskExecutor).execute(any(Runnable.class));
+    }
+
+    @Test
+    @DisplayName("""
+            Verify uploadCover() rejects content not matching the declared image type
+            """)
+    void uploadCover_ContentNotMatchingType_ThrowsException() throws IOException {
+        //given
+        Long bookId = 1L;
+        when(bookRepository.existsById(bookId)).thenReturn(true);
+
+        //when
+        InvalidCoverImageException exception = assertThrows(InvalidCoverImageException.class,
+                () -> bookCoverServiceImpl.uploadCover(bookId, MediaType.IMAGE_JPEG,
+                        new ByteArrayInputStream("<svg>".getBytes(StandardCharsets.UTF_8))));
+
+        //then
+        assertEquals("Content is not a valid image/jpeg image", exception.getMessage());
+        verify(coverImageStore, never()).store(any(InputStream.class),
+                any(CoverImageFormat.class));
+    }
+
+    @Test
+    @DisplayName("""
+            Verify getCover() throws an exception when the book has no stored cover
+            """)
+    void getCover_NoStoredCover_ThrowsException() throws IOException {
+        //given
+        Long bookId = 1L;
+        when(bookRepository.findCoverImageById(bookId)).thenReturn(Optional.of("cover.jpg"));
+        when(coverImageStore.find("cover.jpg", null)).thenReturn(Optional.empty());
+
+        //when
+        EntityNotFoundException exception = assertThrows(EntityNotFoundException.class,
+                () -> bookCoverServiceImpl.getCover(bookId, null));
+
+        //then
+        assertEquals("Can't find cover image of book by id 1", exception.getMessage());
+    }
+}
@@ -0,0 +1,125 @@
+package bookstore.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import bookstore.dto.book.BookImportFormat;
+import bookstore.dto.book.BookImportResultDto;
+import bookstore.dto.book.CreateBookRequestDto;
+import bookstore.repository.book.BookImportRepository;
+import bookstore.repository.book.index.BookSearchIndex;
+import bookstore.service.cache.EntityCacheEvictor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validator;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class BookImportServiceImplTest {
+    @InjectMocks
+    private BookImportServiceImpl bookImportServiceImpl;
+    @Mock
+    private BookImportRepository bookImportRepository;
+    @Mock
+    private BookSearchIndex bookSearchIndex;
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+    @Mock
+    private Validator validator;
+    @Mock
+    private EntityCacheEvictor entityCacheEvictor;
+    @Captor
+    private ArgumentCaptor<List<CreateBookRequestDto>> captor;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(bookImportServiceImpl, "batchSize", 100);
+        ReflectionTestUtils.setField(bookImportServiceImpl, "maxReportedErrors", 100);
+    }
+
+    @Test
+    @DisplayName("""
+            Verify importBooks() saves valid NDJSON rows and reports the broken ones
+            """)
+    void importBooks_NdjsonWithInvalidRows_SavesValidRowsAndReportsErrors() throws IOException {
+        // Given
+        InputStream body = toInputStream("""
+                {"title":"Title1","author":"Author1","isbn":"isbn1","price":10}
+                not a json
+                {"title":"Title2","author":"Author2","isbn":"isbn1","price":5}
+                """);
+
+        Mockito.when(bookImportRepository.findCategoryIds()).thenReturn(Set.of(1L));
+        Mockito.when(bookImportRepository.findExistingIsbns(any())).thenReturn(Set.of());
+        Mockito.when(bookImportRepository.insertBatch(any())).thenReturn(List.of(7L));
+
+        // When
+        BookImportResultDto actual =
+                bookImportServiceImpl.importBooks(body, BookImportFormat.NDJSON);
+
+        // Then
+        assertEquals(1, actual.getImported());
+        assertEquals(2, actual.getFailed());
+        assertThat(actual.getErrors()).extracting("line").containsExactly(2L, 3L);
+        assertEquals("isbn: duplicated in the import", actual.getErrors().get(1).getMessage());
+        verify(bookImportRepository, times(1)).insertBatch(any());
+        verify(bookSearchIndex, times(1)).refresh(List.of(7L));
+        verify(bookSearchIndex, never()).rebuild();
+        verify(entityCacheEvictor, times(1)).evictCategoryCounts();
+    }
+
+    @Test
+    @DisplayName("""
+            Verify importBooks() parses quoted CSV values and rejects unknown categories
+            """)
+    void importBooks_CsvWithUnknownCategory_SavesKnownRowsOnly() throws IOException {
+        // Given
+        InputStream body = toInputStream("""
+                title,author,isbn,price,description,category_ids
+                "Title, with comma",Author1,isbn1,10,"Says \"\"hi\"\"",1
+                Title2,Author2,isbn2,5,,1;2
+                """);
+
+        Mockito.when(bookImportRepository.findCategoryIds()).thenReturn(Set.of(1L));
+        Mockito.when(bookImportRepository.findExistingIsbns(any())).thenReturn(Set.of());
+        Mockito.when(bookImportRepository.insertBatch(any())).thenReturn(List.of(7L));
+
+        // When
+        BookImportResultDto actual = bookImportServiceImpl.importBooks(body, BookImportFormat.CSV);
+
+        // Then
+        assertEquals(1, actual.getImported());
+        assertEquals(1, actual.getFailed());
+        assertEquals("categoryIds: unknown categories [2]",
+                actual.getErrors().get(0).getMessage());
+        verify(bookImportRepository, times(1)).insertBatch(captor.capture());
+        CreateBookRequestDto saved = captor.getValue().get(0);
+        assertEquals("Title, with comma", saved.getTitle());
+        assertEquals("Says \"hi\"", saved.getDescription());
+        assertEquals(Set.of(1L), saved.getCategoryIds());
+    }
+
+    private InputStream toInputStream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,136 @@
+package bookstore.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import bookstore.dto.book.BookRepriceJobDto;
+import bookstore.dto.book.BookRepriceRequestDto;
+import bookstore.dto.book.BookSearchParametersDto;
+import bookstore.dto.book.RepriceType;
+import bookstore.dto.catalog.CatalogChangeOperation;
+import bookstore.dto.catalog.CatalogEntityType;
+import bookstore.exception.EntityNotFoundException;
+import bookstore.repository.book.BookRepository;
+import bookstore.repository.book.index.BookPrice;
+import bookstore.repository.book.index.BookSearchIndex;
+import bookstore.repository.book.search.BookSearchCompiler;
+import bookstore.repository.book.search.CompiledBookSearch;
+import bookstore.repository.catalog.CatalogChangeRepository;
+import java.math.BigDecimal;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class BookRepriceServiceImplTest {
+    private static final BookSearchParametersDto FILTER = new BookSearchParametersDto(
+            null, null, null, null, new String[]{"1"}, null, null);
+    @InjectMocks
+    private BookRepriceServiceImpl bookRepriceServiceImpl;
+    @Mock
+    private BookRepository bookRepository;
+    @Mock
+    private BookSearchCompiler bookSearchCompiler;
+    @Mock
+    private BookSearchIndex bookSearchIndex;
+    @Spy
+    private TaskExecutor applicationTaskExecutor = new SyncTaskExecutor();
+    @Mock
+    private CatalogChangeRepository catalogChangeRepository;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(bookRepriceServiceImpl, "chunkSize", 2);
+    }
+
+    @Test
+    @DisplayName("""
+            Verify start() applies a percentage change chunk by chunk and completes the job
+            """)
+    void start_PercentageChange_UpdatesAllChunks() {
+        //given
+        CompiledBookSearch compiledBookSearch = CompiledBookSearch.empty();
+        BookRepriceRequestDto requestDto = new BookRepriceRequestDto()
+                .setFilter(FILTER)
+                .setType(RepriceType.PERCENTAGE)
+                .setValue(BigDecimal.TEN);
+        when(bookSearchCompiler.compile(FILTER)).thenReturn(compiledBookSearch);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<Integer>>getArgument(0).doInTransaction(null));
+        when(bookRepository.findIds(compiledBookSearch)).thenReturn(List.of(3L, 1L, 2L));
+        when(bookRepository.scalePrice(List.of(1L, 2L), new BigDecimal("1.1"),
+                new BigDecimal("0.01"))).thenReturn(2);
+        when(bookRepository.scalePrice(List.of(3L), new BigDecimal("1.1"),
+                new BigDecimal("0.01"))).thenReturn(1);
+        when(bookRepository.findPrices(anyList()))
+                .thenReturn(List.of(new BookPrice(1L, BigDecimal.ONE)));
+
+        //when
+        BookRepriceJobDto actual = bookRepriceServiceImpl.start(requestDto);
+
+        //then
+        assertEquals(BookRepriceJobDto.Status.COMPLETED, actual.getStatus());
+        assertEquals(3, actual.getTotal());
+        assertEquals(3, actual.getProcessed());
+        assertEquals(3, actual.getUpdated());
+        verify(bookSearchIndex, times(2)).updatePrices(anyList());
+        verify(catalogChangeRepository).record(CatalogEntityType.BOOK,
+                CatalogChangeOperation.UPSERT, List.of(1L, 2L));
+        verify(bookRepository, never()).updatePrice(anyList(), any());
+    }
+
+    @Test
+    @DisplayName("""
+            Verify start() marks the job as failed when an update throws
+            """)
+    void start_UpdateFails_MarksJobFailed() {
+        //given
+        CompiledBookSearch compiledBookSearch = CompiledBookSearch.empty();
+        BookRepriceRequestDto requestDto = new BookRepriceRequestDto()
+                .setFilter(FILTER)
+                .setType(RepriceType.ABSOLUTE)
+                .setValue(new BigDecimal("9.99"));
+        when(bookSearchCompiler.compile(FILTER)).thenReturn(compiledBookSearch);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<Integer>>getArgument(0).doInTransaction(null));
+        when(bookRepository.findIds(compiledBookSearch)).thenReturn(List.of(1L));
+        when(bookRepository.updatePrice(List.of(1L), new BigDecimal("9.99")))
+                .thenThrow(new IllegalStateException("Lock wait timeout"));
+
+        //when
+        BookRepriceJobDto actual = bookRepriceServiceImpl.start(requestDto);
+
+        //then
+        assertEquals(BookRepriceJobDto.Status.FAILED, actual.getStatus());
+        assertEquals("Lock wait timeout", actual.getError());
+        verify(bookSearchIndex, never()).updatePrices(anyList());
+    }
+
+    @Test
+    @DisplayName("""
+            Verify getJob() throws an exception for an unknown job id
+            """)
+    void getJob_UnknownId_ThrowsException() {
+        assertThrows(EntityNotFoundException.class,
+                () -> bookRepriceServiceImpl.getJob("unknown"));
+    }
+}
@@ -3,41 +3,75 @@ package bookstore.service.impl;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 
 import bookstore.dto.book.BookDto;
 import bookstore.dto.book.BookDtoWithoutCategoryIds;
+import bookstore.dto.book.BookFacetsDto;
 import bookstore.dto.book.BookSearchParametersDto;
+import bookstore.dto.book.BookSearchResultDto;
+import bookstore.dto.book.BookSuggestionDto;
 import bookstore.dto.book.CreateBookRequestDto;
+import bookstore.dto.book.PatchBookRequestDto;
+import bookstore.dto.catalog.CatalogChangeOperation;
+import bookstore.dto.catalog.CatalogEntityType;
+import bookstore.dto.page.CursorPageDto;
 import bookstore.exception.EntityNotFoundException;
 import bookstore.mapper.BookMapper;
 import bookstore.model.Book;
 import bookstore.model.Category;
+import bookstore.repository.CategoryBookCountRepository;
 import bookstore.repository.CategoryRepository;
+import bookstore.repository.book.BookCursor;
+import bookstore.repository.book.BookCursorCodec;
+import bookstore.repository.book.BookExportRow;
 import bookstore.repository.book.BookRepository;
 import bookstore.repository.book.BookSpecificationBuilderImpl;
+import bookstore.repository.book.index.BookSearchIndex;
+import bookstore.repository.book.search.BookSearchCompiler;
+import bookstore.repository.book.search.BookSearchPlan;
+import bookstore.repository.book.search.CompiledBookSearch;
+import bookstore.repository.catalog.CatalogChangeRepository;
+import bookstore.service.cache.BookSearchCache;
+import bookstore.service.cache.EntityCacheEvictor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
 
 @ExtendWith(MockitoExtension.class)
 class BookServiceImplTest {
@@ -51,6 +85,22 @@ class BookServiceImplTest {
     private BookMapper bookMapper;
     @Mock
     private BookSpecificationBuilderImpl bookSpecificationBuilder;
+    @Mock
+    private BookSearchIndex bookSearchIndex;
+    @Mock
+    private BookCursorCodec bookCursorCodec;
+    @Mock
+    private BookSearchCompiler bookSearchCompiler;
+    @Mock
+    private BookSearchCache bookSearchCache;
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+    @Mock
+    private CatalogChangeRepository catalogChangeRepository;
+    @Mock
+    private CategoryBookCountRepository categoryBookCountRepository;
+    @Mock
+    private EntityCacheEvictor entityCacheEvictor;
 
     @Test
     @DisplayName("""
@@ -61,6 +111,7 @@ class BookServiceImplTest {
         CreateBookRequestDto createBookRequestDto = getCreateBookRequestDto();
 
         Book book = getBookByCreateBookRequestDto(createBookRequestDto);
+        book.setId(1L);
 
         BookDto expected = getBookDtoByBook(book);
         expected.setId(1L);
@@ -75,9 +126,12 @@ class BookServiceImplTest {
         // Then
         assertThat(actual).isEqualTo(expected);
         verify(bookRepository, times(1)).save(book);
+        verify(bookSearchIndex, times(1)).index(book);
+        verify(catalogChangeRepository, times(1)).record(CatalogEntityType.BOOK,
+                CatalogChangeOperation.UPSERT, List.of(1L));
         verify(bookMapper, times(1)).toEntity(createBookRequestDto);
         verify(bookMapper, times(1)).toDto(book);
-        verifyNoMoreInteractions(bookRepository, bookMapper);
+        verifyNoMoreInteractions(bookRepository, bookMapper, bookSearchIndex);
     }
 
     @Test
@@ -91,9 +145,10 @@ class BookServiceImplTest {
 
         Pageable pageable = PageRequest.of(0, 10);
         List<Book> books = List.of(book);
-        Page<Book> bookPage = new PageImpl<>(books, pageable, books.size());
 
-        Mockito.when(bookRepository.findAll(pageable)).thenReturn(bookPage);
+        Mockito.when(bookSearchCache.get(any(), any(), any())).thenAnswer(invocation ->
+                invocation.<Supplier<List<BookDto>>>getArgument(2).get());
+        Mockito.when(bookRepository.findPage(pageable)).thenReturn(books);
         Mockito.when(bookMapper.toDto(book)).thenReturn(expected);
 
         // When
@@ -102,11 +157,42 @@ class BookServiceImplTest {
         // Then
         assertThat(actual).hasSize(1);
         assertThat(actual.get(0)).isEqualTo(expected);
-        verify(bookRepository, times(1)).findAll(pageable);
+        verify(bookRepository, times(1)).findPage(pageable);
         verify(bookMapper, times(1)).toDto(book);
         verifyNoMoreInteractions(bookRepository, bookMapper);
     }
 
+    @Test
+    @DisplayName("""
+            Verify the cursor page of BookDto and the next cursor were returned
+            """)
+    void findAll_ValidCursorAndPageable_ReturnsCursorPage() {
+        // Given
+        Book book = getBook();
+        BookDto expected = getBookDtoByBook(book);
+        Pageable pageable = PageRequest.of(0, 1);
+        Sort sort = Sort.by("id");
+        ScrollPosition lastPosition = ScrollPosition.forward(Map.of("id", book.getId()));
+        Window<Book> window = Window.from(List.of(book), i -> lastPosition, true);
+
+        Mockito.when(bookCursorCodec.decode("", pageable.getSort()))
+                .thenReturn(new BookCursor(sort, ScrollPosition.keyset()));
+        Mockito.when(bookRepository.findBy(any(Specification.class), any())).thenReturn(window);
+        Mockito.when(bookRepository.findAllByIdInOrder(List.of(book.getId())))
+                .thenReturn(List.of(book));
+        Mockito.when(bookMapper.toDto(book)).thenReturn(expected);
+        Mockito.when(bookCursorCodec.encode(sort, lastPosition)).thenReturn("next");
+
+        // When
+        CursorPageDto<BookDto> actual = bookServiceImpl.findAll("", pageable);
+
+        // Then
+        assertThat(actual.getContent()).containsExactly(expected);
+        assertEquals("next", actual.getNextCursor());
+        verify(bookMapper, times(1)).toDto(book);
+        verifyNoMoreInteractions(bookMapper);
+    }
+
     @Test
     @DisplayName("""
             Verify the correct BookDto was returned if it exists
@@ -170,12 +256,12 @@ class BookServiceImplTest {
         CreateBookRequestDto createBookRequestDto = getCreateBookRequestDto();
 
         Book book = getBookByCreateBookRequestDto(createBookRequestDto);
+        book.setId(bookId);
 
         BookDto expected = getBookDtoByBook(book);
-        expected.setId(bookId);
 
-        Mockito.when(bookMapper.toEntity(createBookRequestDto)).thenReturn(book);
-        Mockito.when(bookRepository.save(book)).thenReturn(book);
+        Mockito.when(bookRepository.findById(bookId)).thenReturn(Optional.of(book));
+        Mockito.when(bookRepository.saveAndFlush(book)).thenReturn(book);
         Mockito.when(bookMapper.toDto(book)).thenReturn(expected);
 
         // When
@@ -183,10 +269,87 @@ class BookServiceImplTest {
 
         // Then
         assertThat(actual).isEqualTo(expected);
-        verify(bookRepository, times(1)).save(book);
+        verify(bookRepository, times(1)).findById(bookId);
+        verify(bookRepository, times(1)).saveAndFlush(book);
+        verify(bookSearchIndex, times(1)).index(book);
         verify(bookMapper, times(1)).toDto(book);
-        verify(bookMapper, times(1)).toEntity(createBookRequestDto);
-        verifyNoMoreInteractions(bookRepository, bookMapper);
+        verify(bookMapper, times(1)).updateEntity(createBookRequestDto, book);
+        verifyNoMoreInteractions(bookRepository, bookMapper, bookSearchIndex);
+    }
+
+    @Test
+    @DisplayName("""
+            Verify update() moves the book between category counters
+            """)
+    void update_ChangedCategories_AdjustsBookCounts() {
+        // Given
+        Book book = getBook();
+        book.setCategories(new HashSet<>(Set.of(new Category(1L), new Category(2L))));
+        CreateBookRequestDto createBookRequestDto = getCreateBookRequestDto();
+        Mockito.when(bookRepository.findById(book.getId())).thenReturn(Optional.of(book));
+        Mockito.doAnswer(invocation -> {
+            book.setCategories(new HashSet<>(Set.of(new Category(2L), new Category(3L))));
+            return null;
+        }).when(bookMapper).updateEntity(createBookRequestDto, book);
+        Mockito.when(bookRepository.saveAndFlush(book)).thenReturn(book);
+
+        // When
+        bookServiceImpl.update(book.getId(), createBookRequestDto);
+
+        // Then
+        verify(categoryBookCountRepository, times(1)).adjust(List.of(1L), -1);
+        verify(categoryBookCountRepository, times(1)).adjust(List.of(3L), 1);
+        verify(entityCacheEvictor, times(1)).evictCategoryCounts(List.of(1L, 3L));
+    }
+
+    @Test
+    @DisplayName("""
+            Verify patch() applies the changes when the version matches
+            """)
+    void patch_MatchingVersion_BookHasBeenUpdated() {
+        // Given
+        Book book = getBook();
+        book.setVersion(3L);
+        PatchBookRequestDto patchBookRequestDto = new PatchBookRequestDto()
+                .setPrice(BigDecimal.ONE)
+                .setVersion(3L);
+        BookDto expected = getBookDtoByBook(book).setPrice(BigDecimal.ONE);
+
+        Mockito.when(bookRepository.findById(book.getId())).thenReturn(Optional.of(book));
+        Mockito.when(bookRepository.saveAndFlush(book)).thenReturn(book);
+        Mockito.when(bookMapper.toDto(book)).thenReturn(expected);
+
+        // When
+        BookDto actual = bookServiceImpl.patch(book.getId(), patchBookRequestDto);
+
+        // Then
+        assertThat(actual).isEqualTo(expected);
+        verify(bookMapper, times(1)).updateEntity(patchBookRequestDto, book);
+        verify(bookRepository, times(1)).saveAndFlush(book);
+        verify(bookSearchIndex, times(1)).index(book);
+    }
+
+    @Test
+    @DisplayName("""
+            Verify patch() fails fast when the book has been changed since the given version
+            """)
+    void patch_StaleVersion_ThrowsException() {
+        // Given
+        Book book = getBook();
+        book.setVersion(4L);
+        PatchBookRequestDto patchBookRequestDto = new PatchBookRequestDto()
+                .setPrice(BigDecimal.ONE)
+                .setVersion(3L);
+
+        Mockito.when(bookRepository.findById(book.getId())).thenReturn(Optional.of(book));
+
+        // When
+        assertThrows(ObjectOptimisticLockingFailureException.class,
+                () -> bookServiceImpl.patch(book.getId(), patchBookRequestDto));
+
+        // Then
+        verify(bookRepository, times(1)).findById(book.getId());
+        verifyNoMoreInteractions(bookRepository, bookMapper, bookSearchIndex);
     }
 
     @Test
@@ -198,17 +361,19 @@ class BookServiceImplTest {
         String[] emptyArray = new String[0];
         Book book = getBook();
         BookDto expected = getBookDtoByBook(book);
-        Specification<Book> spec = Specification.where(null);
+        CompiledBookSearch compiledSearch = CompiledBookSearch.empty();
         BookSearchParametersDto bookSearchParametersDto =
                 new BookSearchParametersDto(emptyArray, emptyArray, emptyArray, emptyArray,
-                        emptyArray);
+                        emptyArray, null, null);
 
         Pageable pageable = PageRequest.of(0, 10);
         List<Book> books = List.of(book);
-        Page<Book> bookPage = new PageImpl<>(books, pageable, books.size());
 
-        Mockito.when(bookSpecificationBuilder.build(bookSearchParametersDto)).thenReturn(spec);
-        Mockito.when(bookRepository.findAll(spec, pageable)).thenReturn(bookPage);
+        Mockito.when(bookSearchCache.get(any(), any(), any())).thenAnswer(invocation ->
+                invocation.<Supplier<List<BookDto>>>getArgument(2).get());
+        Mockito.when(bookSearchCompiler.compile(bookSearchParametersDto))
+                .thenReturn(compiledSearch);
+        Mockito.when(bookRepository.findPage(compiledSearch, pageable)).thenReturn(books);
         Mockito.when(bookMapper.toDto(book)).thenReturn(expected);
 
         // When
@@ -217,36 +382,182 @@ class BookServiceImplTest {
         // Then
         assertThat(actual).hasSize(1);
         assertThat(actual.get(0)).isEqualTo(expected);
-        verify(bookRepository, times(1)).findAll(spec, pageable);
+        verify(bookRepository, times(1)).findPage(compiledSearch, pageable);
         verify(bookMapper, times(1)).toDto(book);
         verifyNoMoreInteractions(bookRepository, bookMapper);
     }
 
+    @Test
+    @DisplayName("""
+            Verify searchWithFacets() counts facets of an SQL-resolved match up to the bound
+            """)
+    void searchWithFacets_SqlResolvedSearch_ReturnsBooksAndBoundedFacets() {
+        // Given
+        ReflectionTestUtils.setField(bookServiceImpl, "maxFacetIds", 2);
+        Book book = getBook();
+        BookDto expectedBook = getBookDtoByBook(book);
+        CompiledBookSearch compiledSearch = new CompiledBookSearch(
+                new BookSearchPlan(null, "SELECT b.id FROM Book b"), Map.of(), null, false);
+        String[] emptyArray = new String[0];
+        BookSearchParametersDto bookSearchParametersDto =
+                new BookSearchParametersDto(emptyArray, emptyArray, new String[]{"isbn"},
+                        emptyArray, emptyArray, null, null);
+        Pageable pageable = PageRequest.of(0, 10);
+        BookFacetsDto expectedFacets = new BookFacetsDto()
+                .setAuthors(Map.of(book.getAuthor(), 2L));
+
+        Mockito.when(bookSearchCompiler.compile(bookSearchParametersDto))
+                .thenReturn(compiledSearch);
+        Mockito.when(bookRepository.findPage(compiledSearch, pageable)).thenReturn(List.of(book));
+        Mockito.when(bookRepository.findIds(compiledSearch, 3)).thenReturn(List.of(1L, 2L, 3L));
+        Mockito.when(bookMapper.toDto(book)).thenReturn(expectedBook);
+        Mockito.when(bookSearchIndex.countFacets(List.of(1L, 2L))).thenReturn(expectedFacets);
+
+        // When
+        BookSearchResultDto actual =
+                bookServiceImpl.searchWithFacets(bookSearchParametersDto, pageable);
+
+        // Then
+        assertThat(actual.getBooks()).containsExactly(expectedBook);
+        assertEquals(expectedFacets, actual.getFacets());
+        assertTrue(actual.getFacets().isTruncated());
+        verify(bookRepository, times(1)).findPage(compiledSearch, pageable);
+        verify(bookRepository, times(1)).findIds(compiledSearch, 3);
+        verifyNoMoreInteractions(bookRepository);
+    }
+
+    @Test
+    @DisplayName("""
+            Verify searchWithFacets() counts facets of an index-resolved match without SQL
+            """)
+    void searchWithFacets_IndexResolvedSearch_CountsFacetsFromMatchedIds() {
+        // Given
+        long[] matchedIds = {1L, 2L};
+        CompiledBookSearch compiledSearch = new CompiledBookSearch(
+                new BookSearchPlan(null, "SELECT b.id FROM Book b WHERE b.id IN :ids"),
+                Map.of("ids", List.of(1L, 2L)), matchedIds, true);
+        String[] emptyArray = new String[0];
+        BookSearchParametersDto bookSearchParametersDto =
+                new BookSearchParametersDto(new String[]{"author"}, emptyArray, emptyArray,
+                        emptyArray, emptyArray, null, null);
+        Pageable pageable = PageRequest.of(0, 10);
+        BookFacetsDto expectedFacets = new BookFacetsDto()
+                .setAuthors(Map.of("Author", 2L));
+
+        Mockito.when(bookSearchCompiler.compile(bookSearchParametersDto))
+                .thenReturn(compiledSearch);
+        Mockito.when(bookRepository.findPage(compiledSearch, pageable)).thenReturn(List.of());
+        Mockito.when(bookSearchIndex.countFacets(matchedIds)).thenReturn(expectedFacets);
+
+        // When
+        BookSearchResultDto actual =
+                bookServiceImpl.searchWithFacets(bookSearchParametersDto, pageable);
+
+        // Then
+        assertEquals(expectedFacets, actual.getFacets());
+        assertFalse(actual.getFacets().isTruncated());
+        verify(bookRepository, never()).findIds(any());
+        verify(bookRepository, never()).findIds(any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("""
+            Verify suggest() caps the limit and returns the index completions
+            """)
+    void suggest_TooLargeLimit_ReturnsCappedCompletions() {
+        // Given
+        List<BookSuggestionDto> expected = List.of(new BookSuggestionDto()
+                .setText("Title1")
+                .setField("title")
+                .setPopularity(1L));
+
+        Mockito.when(bookSearchIndex.suggest("tit", 50)).thenReturn(expected);
+
+        // When
+        List<BookSuggestionDto> actual = bookServiceImpl.suggest("tit", 1000);
+
+        // Then
+        assertEquals(expected, actual);
+        verify(bookSearchIndex, times(1)).suggest("tit", 50);
+    }
+
+    @Test
+    @DisplayName("""
+            Verify export() writes one JSON line per book with all its category ids
+            """)
+    void export_RowsPerBookCategory_WritesOneLinePerBook() throws IOException {
+        // Given
+        BookExportRow firstCategoryRow = new BookExportRow(1L, "Title1", "Author1", "isbn1",
+                BigDecimal.TEN, null, null, 1L);
+        BookExportRow secondCategoryRow = new BookExportRow(1L, "Title1", "Author1", "isbn1",
+                BigDecimal.TEN, null, null, 2L);
+        BookExportRow uncategorizedRow = new BookExportRow(2L, "Title2", "Author2", "isbn2",
+                BigDecimal.ONE, null, null, null);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        Mockito.when(bookRepository.streamExportRows())
+                .thenReturn(Stream.of(firstCategoryRow, secondCategoryRow, uncategorizedRow));
+
+        // When
+        bookServiceImpl.export(outputStream);
+
+        // Then
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        BookDto first = objectMapper.readValue(lines[0], BookDto.class);
+        BookDto second = objectMapper.readValue(lines[1], BookDto.class);
+        assertEquals(1L, first.getId());
+        assertEquals(Set.of(1L, 2L), first.getCategoryIds());
+        assertEquals(2L, second.getId());
+        assertThat(second.getCategoryIds()).isEmpty();
+    }
+
     @Test
     @DisplayName("""
             Verify findByCategoryId() method works and returns books by categoryId
             """)
     void findByCategoryId_WithValidCategoryId_ReturnsAllBooksWithSuchCategory() {
         // Given
-        Category category = getCategory();
-        Book book = getBook();
-        category.setBooks(Set.of(book));
-        BookDtoWithoutCategoryIds expected =
-                getBookDtoWithoutCategoryIdsFromBook(book);
-        Mockito.when(categoryRepository.findById(anyLong())).thenReturn(Optional.of(category));
-        Mockito.when(bookMapper.toDtoWithoutCategories(book)).thenReturn(expected);
+        Long categoryId = 1L;
+        BookDtoWithoutCategoryIds expected = getBookDtoWithoutCategoryIdsFromBook(getBook());
+        Pageable pageable = PageRequest.of(0, 10);
+        Mockito.when(categoryRepository.existsById(categoryId)).thenReturn(true);
+        Mockito.when(bookRepository.findAllByCategoryId(categoryId,
+                PageRequest.of(0, 10, Sort.by("id")))).thenReturn(List.of(expected));
 
         // When
         List<BookDtoWithoutCategoryIds> actual =
-                bookServiceImpl.findByCategoryId(anyLong());
+                bookServiceImpl.findByCategoryId(categoryId, pageable);
+
         // Then
-        assertThat(actual).hasSize(1);
-        assertThat(actual.get(0)).isEqualTo(expected);
-        verify(categoryRepository, times(1)).findById(anyLong());
-        verify(bookMapper, times(1)).toDtoWithoutCategories(book);
+        assertThat(actual).containsExactly(expected);
+        verify(categoryRepository, times(1)).existsById(categoryId);
         verifyNoMoreInteractions(categoryRepository, bookMapper);
     }
 
+    @Test
+    @DisplayName("""
+            Verify findByCategoryId() with a cursor returns the next page and cursor
+            """)
+    void findByCategoryId_WithCursor_ReturnsNextPageAfterCursor() {
+        // Given
+        Long categoryId = 1L;
+        BookDtoWithoutCategoryIds first = new BookDtoWithoutCategoryIds().setId(11L);
+        BookDtoWithoutCategoryIds second = new BookDtoWithoutCategoryIds().setId(12L);
+        BookDtoWithoutCategoryIds third = new BookDtoWithoutCategoryIds().setId(13L);
+        Mockito.when(categoryRepository.existsById(categoryId)).thenReturn(true);
+        Mockito.when(bookRepository.findAllByCategoryIdAfter(categoryId, 10L,
+                PageRequest.of(0, 3))).thenReturn(List.of(first, second, third));
+
+        // When
+        CursorPageDto<BookDtoWithoutCategoryIds> actual =
+                bookServiceImpl.findByCategoryId(categoryId, "10", PageRequest.of(0, 2));
+
+        // Then
+        assertThat(actual.getContent()).containsExactly(first, second);
+        assertEquals("12", actual.getNextCursor());
+    }
+
     @Test
     @DisplayName("""
             Verify the EntityNotFoundException was thrown for invalid categoryId
@@ -254,19 +565,19 @@ class BookServiceImplTest {
     void findByCategoryId_WithInvalidCategoryId_ThrowEntityNotFoundException() {
         // Given
         Long categoryId = -1L;
-        Mockito.when(categoryRepository.findById(categoryId)).thenReturn(Optional.empty());
+        Mockito.when(categoryRepository.existsById(categoryId)).thenReturn(false);
 
         // When
         EntityNotFoundException exception =
                 assertThrows(EntityNotFoundException.class,
-                        () -> bookServiceImpl.findByCategoryId(categoryId));
+                        () -> bookServiceImpl.findByCategoryId(categoryId, Pageable.unpaged()));
 
         // Then
         String expected = "Can't find Category by id " + categoryId;
         String actual = exception.getMessage();
         assertEquals(expected, actual);
-        verify(categoryRepository, times(1)).findById(categoryId);
-        verifyNoMoreInteractions(categoryRepository);
+        verify(categoryRepository, times(1)).existsById(categoryId);
+        verifyNoMoreInteractions(categoryRepository, bookRepository);
     }
 
     private Book getBook() {
@@ -327,14 +638,6 @@ class BookServiceImplTest {
         return createBookRequestDto;
     }
 
-    private Category getCategory() {
-        Category category = new Category();
-        category.setId(1L);
-        category.setName("Name");
-        category.setDescription("Description");
-        return category;
-    }
-
     private BookDtoWithoutCategoryIds getBookDtoWithoutCategoryIdsFromBook(Book book) {
         BookDtoWithoutCategoryIds bookDtoWithoutCategoryIds = new BookDtoWithoutCategoryIds();
         bookDtoWithoutCategoryIds.setAuthor(book.getAuthor());
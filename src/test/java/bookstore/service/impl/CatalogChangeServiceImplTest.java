@@ -0,0 +1,101 @@
+package bookstore.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import bookstore.dto.book.BookDto;
+import bookstore.dto.catalog.CatalogChangeOperation;
+import bookstore.dto.catalog.CatalogChangesDto;
+import bookstore.dto.catalog.CatalogEntityType;
+import bookstore.dto.category.CategoryDto;
+import bookstore.mapper.BookMapper;
+import bookstore.mapper.CategoryMapper;
+import bookstore.model.Book;
+import bookstore.model.Category;
+import bookstore.repository.CategoryRepository;
+import bookstore.repository.book.BookRepository;
+import bookstore.repository.catalog.CatalogChange;
+import bookstore.repository.catalog.CatalogChangeRepository;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogChangeServiceImplTest {
+    private static final LocalDateTime CHANGED_AT = LocalDateTime.of(2024, 1, 1, 12, 0);
+    @InjectMocks
+    private CatalogChangeServiceImpl catalogChangeServiceImpl;
+    @Mock
+    private CatalogChangeRepository catalogChangeRepository;
+    @Mock
+    private BookRepository bookRepository;
+    @Mock
+    private CategoryRepository categoryRepository;
+    @Mock
+    private BookMapper bookMapper;
+    @Mock
+    private CategoryMapper categoryMapper;
+
+    @Test
+    @DisplayName("""
+            Verify getChanges() returns a page of changes with the current entity state
+            """)
+    void getChanges_MoreChangesThanLimit_ReturnsPageWithPayloads() {
+        //given
+        Book book = new Book();
+        book.setId(1L);
+        Category category = new Category(1L);
+        BookDto bookDto = new BookDto().setId(1L);
+        CategoryDto categoryDto = new CategoryDto().setName("Fantasy");
+        when(catalogChangeRepository.findSince(10L, 3)).thenReturn(List.of(
+                new CatalogChange(11L, CatalogEntityType.BOOK, 1L,
+                        CatalogChangeOperation.UPSERT, CHANGED_AT),
+                new CatalogChange(12L, CatalogEntityType.CATEGORY, 1L,
+                        CatalogChangeOperation.UPSERT, CHANGED_AT),
+                new CatalogChange(13L, CatalogEntityType.BOOK, 2L,
+                        CatalogChangeOperation.DELETE, CHANGED_AT)));
+        when(bookRepository.findAllByIdInOrder(List.of(1L))).thenReturn(List.of(book));
+        when(categoryRepository.findAllById(List.of(1L))).thenReturn(List.of(category));
+        when(bookMapper.toDto(book)).thenReturn(bookDto);
+        when(categoryMapper.toDto(category)).thenReturn(categoryDto);
+
+        //when
+        CatalogChangesDto actual = catalogChangeServiceImpl.getChanges(10L, 2);
+
+        //then
+        assertEquals(2, actual.getChanges().size());
+        assertEquals(bookDto, actual.getChanges().get(0).getBook());
+        assertNull(actual.getChanges().get(0).getCategory());
+        assertEquals(categoryDto, actual.getChanges().get(1).getCategory());
+        assertNull(actual.getChanges().get(1).getBook());
+        assertEquals(12L, actual.getNextSince());
+        assertTrue(actual.isHasMore());
+    }
+
+    @Test
+    @DisplayName("""
+            Verify compact() removes superseded changes window by window
+            """)
+    void compact_ManyVersions_DeletesSupersededInWindows() {
+        //given
+        ReflectionTestUtils.setField(catalogChangeServiceImpl, "compactionBatchSize", 100);
+        when(catalogChangeRepository.findFirstVersion()).thenReturn(50L);
+        when(catalogChangeRepository.findLastVersion()).thenReturn(200L);
+
+        //when
+        catalogChangeServiceImpl.compact();
+
+        //then
+        verify(catalogChangeRepository).deleteSuperseded(50L, 150L);
+        verify(catalogChangeRepository).deleteSuperseded(150L, 250L);
+    }
+}
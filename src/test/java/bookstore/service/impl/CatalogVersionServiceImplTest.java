@@ -0,0 +1,75 @@
+package bookstore.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import bookstore.dto.catalog.CatalogVersionDto;
+import bookstore.repository.catalog.EntityVersion;
+import bookstore.repository.catalog.EntityVersionRepository;
+import java.time.Instant;
+import java.util.Optional;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogVersionServiceImplTest {
+    private static final Instant MODIFIED_AT = Instant.parse("2024-01-01T12:00:00Z");
+    @InjectMocks
+    private CatalogVersionServiceImpl catalogVersionServiceImpl;
+    @Mock
+    private EntityVersionRepository entityVersionRepository;
+
+    @Test
+    @DisplayName("""
+            Verify findBookVersion() builds a strong ETag from the book version
+            """)
+    void findBookVersion_ExistingBook_ReturnsStrongEtag() {
+        //given
+        when(entityVersionRepository.findBookVersion(1L))
+                .thenReturn(Optional.of(new EntityVersion(7, MODIFIED_AT)));
+
+        //when
+        Optional<CatalogVersionDto> actual = catalogVersionServiceImpl.findBookVersion(1L);
+
+        //then
+        assertEquals(Optional.of(new CatalogVersionDto()
+                .setEtag("\"book-1-7\"")
+                .setLastModified(MODIFIED_AT.toEpochMilli())), actual);
+    }
+
+    @Test
+    @DisplayName("""
+            Verify findBookVersion() is empty for a missing book
+            """)
+    void findBookVersion_MissingBook_ReturnsEmpty() {
+        //given
+        when(entityVersionRepository.findBookVersion(1L)).thenReturn(Optional.empty());
+
+        //when
+        Optional<CatalogVersionDto> actual = catalogVersionServiceImpl.findBookVersion(1L);
+
+        //then
+        assertTrue(actual.isEmpty());
+    }
+
+    @Test
+    @DisplayName("""
+            Verify getCatalogVersion() leaves Last-Modified unset before the first change
+            """)
+    void getCatalogVersion_NoChangesYet_ReturnsEtagWithoutLastModified() {
+        //given
+        when(entityVersionRepository.findCatalogVersion()).thenReturn(new EntityVersion(0, null));
+
+        //when
+        CatalogVersionDto actual = catalogVersionServiceImpl.getCatalogVersion();
+
+        //then
+        assertEquals(new CatalogVersionDto().setEtag("\"catalog-0\"").setLastModified(-1),
+                actual);
+    }
+}
@@ -5,15 +5,28 @@ import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 
+import bookstore.dto.bulk.BulkUpdateResultDto;
+import bookstore.dto.catalog.CatalogChangeOperation;
+import bookstore.dto.catalog.CatalogEntityType;
 import bookstore.dto.category.CategoryDto;
 import bookstore.exception.EntityNotFoundException;
+import bookstore.exception.InvalidCategoryHierarchyException;
 import bookstore.mapper.CategoryMapper;
 import bookstore.model.Category;
+import bookstore.repository.BookCategoryRepository;
+import bookstore.repository.CategoryBookCountRepository;
+import bookstore.repository.CategoryClosureRepository;
 import bookstore.repository.CategoryRepository;
+import bookstore.repository.CategoryTree;
+import bookstore.repository.book.index.BookSearchIndex;
+import bookstore.repository.catalog.CatalogChangeRepository;
+import bookstore.service.cache.CategorySnapshot;
+import bookstore.service.cache.EntityCacheEvictor;
 import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.DisplayName;
@@ -27,6 +40,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
 
 @ExtendWith(MockitoExtension.class)
 class CategoryServiceImplTest {
@@ -36,6 +50,22 @@ class CategoryServiceImplTest {
     private CategoryRepository categoryRepository;
     @Mock
     private CategoryMapper categoryMapper;
+    @Mock
+    private BookCategoryRepository bookCategoryRepository;
+    @Mock
+    private BookSearchIndex bookSearchIndex;
+    @Mock
+    private CatalogChangeRepository catalogChangeRepository;
+    @Mock
+    private EntityCacheEvictor entityCacheEvictor;
+    @Mock
+    private CategoryClosureRepository categoryClosureRepository;
+    @Mock
+    private CategoryTree categoryTree;
+    @Mock
+    private CategoryBookCountRepository categoryBookCountRepository;
+    @Mock
+    private CategorySnapshot categorySnapshot;
 
     @Test
     @DisplayName("""
@@ -46,6 +76,7 @@ class CategoryServiceImplTest {
         CategoryDto categoryRequestDto = getCategoryDto();
 
         Category category = getCategoryByCategoryDto(categoryRequestDto);
+        category.setId(1L);
 
         CategoryDto expected = getCategoryDtoByCategory(category);
 
@@ -60,10 +91,52 @@ class CategoryServiceImplTest {
         assertThat(actual).isEqualTo(expected);
         verify(categoryRepository, times(1)).save(category);
         verify(categoryMapper, times(1)).toEntity(categoryRequestDto);
+        verify(categoryClosureRepository, times(1)).insert(1L, null);
+        verify(categoryTree, times(1)).invalidate();
+        verify(catalogChangeRepository, times(1)).record(CatalogEntityType.CATEGORY,
+                CatalogChangeOperation.UPSERT, List.of(1L));
         verify(categoryMapper, times(1)).toDto(category);
+        verify(categorySnapshot, times(1)).put(1L, expected);
+        verifyNoMoreInteractions(categoryRepository, categoryMapper);
+    }
+
+    @Test
+    @DisplayName("""
+            Verify findById() is served from the category snapshot without a query
+            """)
+    void findById_CategoryInSnapshot_ReturnsSnapshotCategoryDto() {
+        // Given
+        CategoryDto expected = getCategoryDto();
+        Mockito.when(categorySnapshot.findById(1L)).thenReturn(Optional.of(expected));
+
+        // When
+        CategoryDto actual = categoryServiceImpl.findById(1L);
+
+        // Then
+        assertEquals(expected, actual);
         verifyNoMoreInteractions(categoryRepository, categoryMapper);
     }
 
+    @Test
+    @DisplayName("""
+            Verify findByName() queries the repository when the snapshot is disabled
+            """)
+    void findByName_SnapshotDisabled_ReturnsRepositoryCategories() {
+        // Given
+        Category category = getCategory();
+        CategoryDto expected = getCategoryDtoByCategory(category);
+        Mockito.when(categoryRepository.findByNameIgnoreCaseOrderByIdAsc("name"))
+                .thenReturn(List.of(category));
+        Mockito.when(categoryMapper.toDto(category)).thenReturn(expected);
+
+        // When
+        List<CategoryDto> actual = categoryServiceImpl.findByName("name");
+
+        // Then
+        assertEquals(List.of(expected), actual);
+        verify(categorySnapshot, times(1)).findByName("name");
+    }
+
     @Test
     @DisplayName("""
             Verify the correct CategoryDto was returned if it exists
@@ -157,12 +230,57 @@ class CategoryServiceImplTest {
 
         // Then
         assertThat(actualCategoryDto).isEqualTo(expectedCategoryDto);
-        verify(categoryRepository, times(1)).findById(anyLong());
+        verify(categoryRepository, times(2)).findById(anyLong());
         verify(categoryRepository, times(1)).save(category);
+        verify(categoryRepository, times(1)).incrementVersion(anyLong());
         verify(categoryMapper, times(1)).toDto(category);
         verifyNoMoreInteractions(categoryRepository, categoryMapper);
     }
 
+    @Test
+    @DisplayName("""
+            Verify update() moves the category's subtree under a new parent
+            """)
+    void update_NewParent_MovesSubtree() {
+        // Given
+        Category category = getCategory();
+        Mockito.when(categoryRepository.findById(1L)).thenReturn(Optional.of(category));
+        Mockito.when(categoryRepository.existsById(2L)).thenReturn(true);
+        Mockito.when(categoryClosureRepository.isInSubtree(1L, 2L)).thenReturn(false);
+        Mockito.when(categoryRepository.save(category)).thenReturn(category);
+        CategoryDto categoryRequestDto = getCategoryDto().setParentId(2L);
+
+        // When
+        categoryServiceImpl.update(1L, categoryRequestDto);
+
+        // Then
+        assertEquals(2L, category.getParentId());
+        verify(categoryClosureRepository, times(1)).move(1L, 2L);
+        verify(categoryTree, times(1)).invalidate();
+    }
+
+    @Test
+    @DisplayName("""
+            Verify update() rejects moving a category under its own subcategory
+            """)
+    void update_ParentInsideSubtree_ThrowsInvalidCategoryHierarchyException() {
+        // Given
+        Category category = getCategory();
+        Mockito.when(categoryRepository.findById(1L)).thenReturn(Optional.of(category));
+        Mockito.when(categoryRepository.existsById(3L)).thenReturn(true);
+        Mockito.when(categoryClosureRepository.isInSubtree(1L, 3L)).thenReturn(true);
+        CategoryDto categoryRequestDto = getCategoryDto().setParentId(3L);
+
+        // When
+        assertThrows(InvalidCategoryHierarchyException.class,
+                () -> categoryServiceImpl.update(1L, categoryRequestDto));
+
+        // Then
+        verify(categoryClosureRepository, never()).move(anyLong(), anyLong());
+        verify(categoryRepository, never()).save(category);
+        verifyNoMoreInteractions(categoryTree);
+    }
+
     @Test
     @DisplayName("""
             Verify deleteById() method works
@@ -172,6 +290,108 @@ class CategoryServiceImplTest {
         assertDoesNotThrow(() -> categoryServiceImpl.deleteById(anyLong()));
     }
 
+    @Test
+    @DisplayName("""
+            Verify deleteById() marks the category's books changed, evicts and reindexes them
+            """)
+    void deleteById_ValidId_EvictsCachedCategoryAndItsBooks() {
+        // Given
+        Mockito.when(bookCategoryRepository.markCategoryBooksChanged(List.of(1L)))
+                .thenReturn(List.of(5L, 6L));
+
+        // When
+        categoryServiceImpl.deleteById(1L);
+
+        // Then
+        verify(categoryRepository, times(1)).deleteById(1L);
+        verify(entityCacheEvictor, times(1)).evictCategories(List.of(1L));
+        verify(entityCacheEvictor, times(1)).evictBooks(List.of(5L, 6L));
+        verify(bookSearchIndex, times(1)).refreshAfterCommit(List.of(5L, 6L));
+        verify(categorySnapshot, times(1)).remove(1L);
+        verify(categoryTree, times(1)).invalidate();
+    }
+
+    @Test
+    @DisplayName("""
+            Verify deleteById() rejects a category that still has subcategories
+            """)
+    void deleteById_CategoryWithSubcategories_ThrowsInvalidCategoryHierarchyException() {
+        // Given
+        Mockito.when(categoryRepository.existsByParentId(1L)).thenReturn(true);
+
+        // When
+        assertThrows(InvalidCategoryHierarchyException.class,
+                () -> categoryServiceImpl.deleteById(1L));
+
+        // Then
+        verify(categoryRepository, never()).deleteById(1L);
+        verifyNoMoreInteractions(categoryTree, categorySnapshot);
+    }
+
+    @Test
+    @DisplayName("""
+            Verify assignBooks() inserts missing memberships chunk by chunk
+            """)
+    void assignBooks_ValidIds_AssignsOnlyMissingMemberships() {
+        // Given
+        Long categoryId = 1L;
+        ReflectionTestUtils.setField(categoryServiceImpl, "chunkSize", 2);
+        Mockito.when(bookCategoryRepository.existsCategory(categoryId)).thenReturn(true);
+        Mockito.when(bookCategoryRepository.assign(categoryId, List.of(1L, 2L)))
+                .thenReturn(List.of(2L));
+        Mockito.when(bookCategoryRepository.assign(categoryId, List.of(3L)))
+                .thenReturn(List.of(3L));
+        BulkUpdateResultDto expected = new BulkUpdateResultDto().setMatched(3).setUpdated(2);
+
+        // When
+        BulkUpdateResultDto actual = categoryServiceImpl.assignBooks(categoryId,
+                List.of(3L, 2L, 1L, 2L));
+
+        // Then
+        assertEquals(expected, actual);
+        verify(bookSearchIndex, times(1)).refresh(List.of(2L));
+        verify(bookSearchIndex, times(1)).refresh(List.of(3L));
+        verify(entityCacheEvictor, times(1)).evictBooks(List.of(2L));
+        verify(entityCacheEvictor, times(1)).evictBooks(List.of(3L));
+        verify(entityCacheEvictor, times(1)).evictCategoryCounts(List.of(categoryId));
+        verifyNoMoreInteractions(categoryRepository, categoryMapper);
+    }
+
+    @Test
+    @DisplayName("""
+            Verify unassignBooks() throws an exception for a missing category
+            """)
+    void unassignBooks_InvalidCategoryId_ThrowsException() {
+        // Given
+        Long categoryId = 100L;
+        Mockito.when(bookCategoryRepository.existsCategory(categoryId)).thenReturn(false);
+
+        // When
+        EntityNotFoundException exception = assertThrows(EntityNotFoundException.class,
+                () -> categoryServiceImpl.unassignBooks(categoryId, List.of(1L)));
+
+        // Then
+        assertEquals("Can't find Category by id 100", exception.getMessage());
+        verifyNoMoreInteractions(bookSearchIndex);
+    }
+
+    @Test
+    @DisplayName("""
+            Verify reconcileBookCounts() evicts cached categories only when counters drifted
+            """)
+    void reconcileBookCounts_DriftedCounters_EvictsCachedCategories() {
+        // Given
+        Mockito.when(categoryBookCountRepository.reconcile()).thenReturn(2, 0);
+
+        // When
+        categoryServiceImpl.reconcileBookCounts();
+        categoryServiceImpl.reconcileBookCounts();
+
+        // Then
+        verify(categoryBookCountRepository, times(2)).reconcile();
+        verify(entityCacheEvictor, times(1)).evictCategoryCounts();
+    }
+
     private CategoryDto getCategoryDtoByCategory(Category category) {
         CategoryDto categoryDto = new CategoryDto();
         categoryDto.setName(category.getName());
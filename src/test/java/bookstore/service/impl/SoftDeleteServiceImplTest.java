@@ -0,0 +1,125 @@
+package bookstore.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import bookstore.dto.book.BookBulkRequestDto;
+import bookstore.dto.book.BookSearchParametersDto;
+import bookstore.dto.bulk.BulkUpdateResultDto;
+import bookstore.repository.CategoryTree;
+import bookstore.repository.SoftDeleteRepository;
+import bookstore.repository.book.BookRepository;
+import bookstore.repository.book.index.BookIndexEntry;
+import bookstore.repository.book.index.BookSearchIndex;
+import bookstore.repository.book.search.BookSearchCompiler;
+import bookstore.repository.book.search.CompiledBookSearch;
+import bookstore.service.cache.EntityCacheEvictor;
+import java.math.BigDecimal;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class SoftDeleteServiceImplTest {
+    @InjectMocks
+    private SoftDeleteServiceImpl softDeleteServiceImpl;
+    @Mock
+    private SoftDeleteRepository softDeleteRepository;
+    @Mock
+    private BookRepository bookRepository;
+    @Mock
+    private BookSearchCompiler bookSearchCompiler;
+    @Mock
+    private BookSearchIndex bookSearchIndex;
+    @Mock
+    private EntityCacheEvictor entityCacheEvictor;
+    @Mock
+    private CategoryTree categoryTree;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(softDeleteServiceImpl, "chunkSize", 2);
+    }
+
+    @Test
+    @DisplayName("""
+            Verify deleteBooks() deletes books matching the filter chunk by chunk
+            """)
+    void deleteBooks_ByFilter_DeletesAndRefreshesEachChunk() {
+        //given
+        BookSearchParametersDto filter = new BookSearchParametersDto(
+                new String[]{"Tolkien"}, null, null, null, null, null, null);
+        CompiledBookSearch compiledBookSearch = CompiledBookSearch.empty();
+        when(bookSearchCompiler.compile(filter)).thenReturn(compiledBookSearch);
+        when(bookRepository.findIds(compiledBookSearch)).thenReturn(List.of(3L, 1L, 2L));
+        when(softDeleteRepository.setBooksDeleted(List.of(1L, 2L), true)).thenReturn(2);
+        when(softDeleteRepository.setBooksDeleted(List.of(3L), true)).thenReturn(1);
+
+        //when
+        BulkUpdateResultDto actual = softDeleteServiceImpl.deleteBooks(
+                new BookBulkRequestDto().setFilter(filter));
+
+        //then
+        assertEquals(new BulkUpdateResultDto().setMatched(3).setUpdated(3), actual);
+        verify(entityCacheEvictor).evictBooks(List.of(1L, 2L));
+        verify(entityCacheEvictor).evictBooks(List.of(3L));
+        verify(entityCacheEvictor, times(2)).evictCategoryCounts();
+        verify(bookSearchIndex).refresh(List.of(1L, 2L));
+        verify(bookSearchIndex).refresh(List.of(3L));
+    }
+
+    @Test
+    @DisplayName("""
+            Verify restoreBooks() restores only deleted books matching the filter
+            """)
+    void restoreBooks_ByFilter_RestoresMatchingDeletedBooks() {
+        //given
+        BookSearchParametersDto filter = new BookSearchParametersDto(
+                null, null, null, null, new String[]{"1"}, null, null);
+        BookIndexEntry matching = new BookIndexEntry(1L, "Title", "Author", "isbn-1",
+                BigDecimal.TEN, new long[]{1L});
+        BookIndexEntry other = new BookIndexEntry(2L, "Title", "Author", "isbn-2",
+                BigDecimal.TEN, new long[]{2L});
+        when(softDeleteRepository.findDeletedBookEntries()).thenReturn(List.of(matching, other));
+        when(bookSearchIndex.matches(filter, matching)).thenReturn(true);
+        when(bookSearchIndex.matches(filter, other)).thenReturn(false);
+        when(softDeleteRepository.setBooksDeleted(List.of(1L), false)).thenReturn(1);
+
+        //when
+        BulkUpdateResultDto actual = softDeleteServiceImpl.restoreBooks(
+                new BookBulkRequestDto().setFilter(filter));
+
+        //then
+        assertEquals(new BulkUpdateResultDto().setMatched(1).setUpdated(1), actual);
+        verify(bookSearchIndex).refresh(List.of(1L));
+    }
+
+    @Test
+    @DisplayName("""
+            Verify deleteCategories() deletes categories and reindexes their books
+            """)
+    void deleteCategories_ValidIds_DeletesAndRefreshesBooks() {
+        //given
+        when(softDeleteRepository.setCategoriesDeleted(List.of(1L), true)).thenReturn(1);
+        when(softDeleteRepository.findBookIdsByCategories(List.of(1L)))
+                .thenReturn(List.of(5L, 6L, 7L));
+
+        //when
+        BulkUpdateResultDto actual = softDeleteServiceImpl.deleteCategories(List.of(1L, 1L));
+
+        //then
+        assertEquals(new BulkUpdateResultDto().setMatched(1).setUpdated(1), actual);
+        verify(entityCacheEvictor).evictCategories(List.of(1L));
+        verify(bookSearchIndex).refresh(List.of(5L, 6L));
+        verify(bookSearchIndex).refresh(List.of(7L));
+        verify(categoryTree).invalidate();
+    }
+}
@@ -0,0 +1,9 @@
+UPDATE categories SET parent_id = 2 WHERE id = 3;
+INSERT INTO category_closure (ancestor_id, descendant_id, depth)
+VALUES (1, 1, 0);
+INSERT INTO category_closure (ancestor_id, descendant_id, depth)
+VALUES (2, 2, 0);
+INSERT INTO category_closure (ancestor_id, descendant_id, depth)
+VALUES (3, 3, 0);
+INSERT INTO category_closure (ancestor_id, descendant_id, depth)
+VALUES (2, 3, 1);